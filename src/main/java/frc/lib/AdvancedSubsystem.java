@@ -8,6 +8,8 @@ import edu.wpi.first.epilogue.Logged.Strategy;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.ChangeLogger.BooleanLog;
+import frc.lib.ChangeLogger.StringLog;
 import frc.lib.FaultsTable.Fault;
 import frc.lib.FaultsTable.FaultType;
 import java.util.HashSet;
@@ -22,6 +24,9 @@ public abstract class AdvancedSubsystem extends SubsystemBase
 
   private boolean _hasError = false;
 
+  private final StringLog _currentCommandLog = new StringLog(getName() + "/Current Command");
+  private final BooleanLog _hasErrorLog = new BooleanLog(getName() + "/Has Error");
+
   public AdvancedSubsystem() {
     this(NetworkTableInstance.getDefault());
   }
@@ -88,8 +93,8 @@ public abstract class AdvancedSubsystem extends SubsystemBase
 
   @Override
   public void periodic() {
-    DogLog.log(getName() + "/Current Command", currentCommandName());
-    DogLog.log(getName() + "/Has Error", _hasError);
+    _currentCommandLog.log(currentCommandName());
+    _hasErrorLog.log(_hasError);
   }
 
   @Override
@@ -0,0 +1,120 @@
+package frc.lib;
+
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * ChangeLogger writes values to the DataLog only when they change, with a keyframe of every value
+ * once a second so a log can be read from any point. Keys are prefixed the same way as DogLog's.
+ *
+ * <pre>
+ * private final BooleanLog _isManualLog = new BooleanLog("Wristevator/Is Manual");
+ *
+ * _isManualLog.log(_isManual); // every loop, only written when it changes
+ * </pre>
+ *
+ * <p>{@link #update()} must be called once every loop.
+ */
+public final class ChangeLogger {
+  // loops between keyframes
+  private static final int _keyframeLoops = 50;
+
+  private static boolean _isEnabled = true;
+
+  private static int _loops = 0;
+  private static int _keyframe = 0;
+
+  private ChangeLogger() {}
+
+  /** Whether to write anything, which is off in unit tests. */
+  public static void setEnabled(boolean enabled) {
+    _isEnabled = enabled;
+  }
+
+  /** Advances a loop, starting a new keyframe once enough loops have passed. */
+  public static void update() {
+    _loops++;
+
+    if (_loops % _keyframeLoops == 0) _keyframe++;
+  }
+
+  // the keyframe a log last wrote in and whether it should write now
+  private abstract static class Log {
+    protected final String key;
+
+    private int _keyframe = -1;
+
+    protected Log(String key) {
+      this.key = "Robot/" + key;
+    }
+
+    protected final boolean shouldWrite(boolean hasChanged) {
+      if (!_isEnabled) return false;
+
+      if (!hasChanged && _keyframe == ChangeLogger._keyframe) return false;
+
+      _keyframe = ChangeLogger._keyframe;
+
+      return true;
+    }
+  }
+
+  /** A boolean that's only logged on change. */
+  public static final class BooleanLog extends Log {
+    private BooleanLogEntry _entry;
+    private boolean _value;
+
+    public BooleanLog(String key) {
+      super(key);
+    }
+
+    public void log(boolean value) {
+      if (!shouldWrite(_entry == null || value != _value)) return;
+
+      if (_entry == null) _entry = new BooleanLogEntry(DataLogManager.getLog(), key);
+
+      _entry.append(value);
+      _value = value;
+    }
+  }
+
+  /** A double that's only logged on change. */
+  public static final class DoubleLog extends Log {
+    private DoubleLogEntry _entry;
+    private double _value;
+
+    public DoubleLog(String key) {
+      super(key);
+    }
+
+    public void log(double value) {
+      if (!shouldWrite(_entry == null || Double.compare(value, _value) != 0)) return;
+
+      if (_entry == null) _entry = new DoubleLogEntry(DataLogManager.getLog(), key);
+
+      _entry.append(value);
+      _value = value;
+    }
+  }
+
+  /** A string that's only logged on change. */
+  public static final class StringLog extends Log {
+    private StringLogEntry _entry;
+    private String _value;
+
+    public StringLog(String key) {
+      super(key);
+    }
+
+    public void log(String value) {
+      if (!shouldWrite(_entry == null || !value.equals(_value))) return;
+
+      if (_entry == null) _entry = new StringLogEntry(DataLogManager.getLog(), key);
+
+      _entry.append(value);
+      _value = value;
+    }
+  }
+}
@@ -5,7 +5,9 @@
 package frc.lib;
 
 import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.Pigeon2;
 import com.ctre.phoenix6.hardware.TalonFX;
 import dev.doglog.DogLog;
@@ -15,7 +17,9 @@ import frc.lib.FaultsTable.Fault;
 import frc.lib.FaultsTable.FaultType;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
@@ -30,6 +34,9 @@ import org.photonvision.PhotonCamera;
  * <pre>
  * FaultLogger.register(talonfx); // registers a TalonFX, periodically checking for hardware faults.
  * </pre>
+ *
+ * <p>Faults are only logged, printed and published when they become active or the active faults
+ * change, so {@link #update()} is cheap enough to call often.
  */
 public final class FaultLogger {
   @FunctionalInterface
@@ -37,14 +44,38 @@ public final class FaultLogger {
     void report();
   }
 
+  // a fault read from a ctre fault signal, with the fault built once up front
+  private static final class SignalFault {
+    private final StatusSignal<Boolean> signal;
+    private final Fault fault;
+
+    private boolean isActive = false;
+
+    private SignalFault(StatusSignal<Boolean> signal, Fault fault) {
+      this.signal = signal;
+      this.fault = fault;
+    }
+  }
+
   private static boolean _enableConsole = true;
 
   // DATA
   private static final List<FaultReporter> faultReporters = new ArrayList<>();
+  private static final List<SignalFault> signalFaults = new ArrayList<>();
   private static final Set<Fault> newFaults = new HashSet<>();
-  private static final Set<Fault> activeFaults = new HashSet<>();
+  private static final Set<Fault> signalActiveFaults = new HashSet<>();
+  private static Set<Fault> activeFaults = new HashSet<>();
+  private static Set<Fault> previousFaults = new HashSet<>();
   private static final Set<Fault> totalFaults = new HashSet<>();
 
+  // fault signals grouped by can network, so each network is refreshed with one call
+  private static final Map<String, List<BaseStatusSignal>> faultSignalNetworks =
+      new LinkedHashMap<>();
+  private static BaseStatusSignal[][] faultSignalGroups = new BaseStatusSignal[0][];
+
+  // whether the active or total faults changed without being published
+  private static boolean _tablesOutdated = true;
+
   // NETWORK TABLES
   private static FaultsTable activeAlerts;
   private static FaultsTable totalAlerts;
@@ -75,21 +106,75 @@ public final class FaultLogger {
 
   /** Polls registered fallibles. This method should be called periodically. */
   public static void update() {
+    for (BaseStatusSignal[] group : faultSignalGroups) {
+      BaseStatusSignal.refreshAll(group);
+    }
+
+    // signal faults only change the active set when they turn on or off
+    for (SignalFault signalFault : signalFaults) {
+      boolean isActive = signalFault.signal.getValueAsDouble() != 0;
+
+      if (isActive == signalFault.isActive) continue;
+
+      signalFault.isActive = isActive;
+
+      if (isActive) {
+        signalActiveFaults.add(signalFault.fault);
+      } else {
+        signalActiveFaults.remove(signalFault.fault);
+      }
+    }
+
+    // reuse last pass's set instead of allocating a new one
+    Set<Fault> faults = previousFaults;
+
+    previousFaults = activeFaults;
+    activeFaults = faults;
+
     activeFaults.clear();
 
     faultReporters.forEach(f -> f.report());
+    activeFaults.addAll(signalActiveFaults);
     activeFaults.addAll(newFaults);
     newFaults.clear();
 
-    // log to doglog as well
-    activeFaults.forEach(f -> DogLog.logFault(f.toString()));
+    if (activeFaults.equals(previousFaults)) {
+      publish();
+
+      return;
+    }
+
+    // log and print faults as they become active
+    for (Fault fault : activeFaults) {
+      if (previousFaults.contains(fault)) continue;
+
+      DogLog.logFault(fault.toString());
+
+      if (_enableConsole) print(fault);
+    }
 
     totalFaults.addAll(activeFaults);
 
-    // don't log to NT if there is a match going on (just use doglog)
-    if (!DriverStation.isFMSAttached()) {
-      activeAlerts.set(activeFaults);
-      totalAlerts.set(totalFaults);
+    _tablesOutdated = true;
+
+    publish();
+  }
+
+  // don't log to NT if there is a match going on (just use doglog)
+  private static void publish() {
+    if (!_tablesOutdated || DriverStation.isFMSAttached()) return;
+
+    activeAlerts.set(activeFaults);
+    totalAlerts.set(totalFaults);
+
+    _tablesOutdated = false;
+  }
+
+  private static void print(Fault fault) {
+    switch (fault.type()) {
+      case ERROR -> DriverStation.reportError("[Fault Logger] " + fault.toString(), false);
+      case WARNING -> DriverStation.reportWarning("[Fault Logger] " + fault.toString(), false);
+      case INFO -> System.out.println("[Fault Logger] " + fault.toString());
     }
   }
 
@@ -97,12 +182,21 @@ public final class FaultLogger {
   public static void clear() {
     totalFaults.clear();
     activeFaults.clear();
+    previousFaults.clear();
     newFaults.clear();
+
+    _tablesOutdated = true;
   }
 
   /** Clears fault suppliers. */
   public static void unregisterAll() {
     faultReporters.clear();
+
+    signalFaults.clear();
+    signalActiveFaults.clear();
+
+    faultSignalNetworks.clear();
+    faultSignalGroups = new BaseStatusSignal[0][];
   }
 
   /**
@@ -130,14 +224,6 @@ public final class FaultLogger {
    */
   public static void report(Fault fault) {
     newFaults.add(fault);
-
-    if (!_enableConsole) return;
-
-    switch (fault.type()) {
-      case ERROR -> DriverStation.reportError("[Fault Logger] " + fault.toString(), false);
-      case WARNING -> DriverStation.reportWarning("[Fault Logger] " + fault.toString(), false);
-      case INFO -> System.out.println("[Fault Logger] " + fault.toString());
-    }
   }
 
   /**
@@ -166,14 +252,31 @@ public final class FaultLogger {
    * @param description The failure's description.
    */
   public static void register(BooleanSupplier condition, String description, FaultType type) {
+    Fault fault = new Fault(description, type);
+
     faultReporters.add(
         () -> {
           if (condition.getAsBoolean()) {
-            report(description, type);
+            report(fault);
           }
         });
   }
 
+  // registers a ctre fault signal, which is refreshed with the rest of its network's signals
+  private static void register(
+      ParentDevice device, StatusSignal<Boolean> signal, String description, FaultType type) {
+    signalFaults.add(new SignalFault(signal, new Fault(description, type)));
+
+    faultSignalNetworks
+        .computeIfAbsent(device.getNetwork(), network -> new ArrayList<>())
+        .add(signal);
+
+    faultSignalGroups =
+        faultSignalNetworks.values().stream()
+            .map(signals -> signals.toArray(BaseStatusSignal[]::new))
+            .toArray(BaseStatusSignal[][]::new);
+  }
+
   /**
    * Registers a new TalonFX.
    *
@@ -193,22 +296,25 @@ public final class FaultLogger {
                 talonFX.getFault_Undervoltage()),
         talonFX);
 
+    register(talonFX, talonFX.getFault_Hardware(), name + "- Hardware Fault.", FaultType.ERROR);
     register(
-        () -> talonFX.getFault_Hardware().getValue(), name + "- Hardware Fault.", FaultType.ERROR);
-    register(
-        () -> talonFX.getFault_BootDuringEnable().getValue(),
+        talonFX,
+        talonFX.getFault_BootDuringEnable(),
         name + "- Boot While Enabling.",
         FaultType.WARNING);
     register(
-        () -> talonFX.getFault_DeviceTemp().getValue(),
+        talonFX,
+        talonFX.getFault_DeviceTemp(),
         name + "- Device Temperature Too High.",
         FaultType.WARNING);
     register(
-        () -> talonFX.getFault_ProcTemp().getValue(),
+        talonFX,
+        talonFX.getFault_ProcTemp(),
         name + "- Processor Temp Too High.",
         FaultType.WARNING);
     register(
-        () -> talonFX.getFault_Undervoltage().getValue(),
+        talonFX,
+        talonFX.getFault_Undervoltage(),
         name + "- Voltage Too Low, Check For Brownouts.",
         FaultType.WARNING);
   }
@@ -231,18 +337,17 @@ public final class FaultLogger {
                 cancoder.getFault_Undervoltage()),
         cancoder);
 
+    register(cancoder, cancoder.getFault_Hardware(), name + "- Hardware Fault.", FaultType.ERROR);
     register(
-        () -> cancoder.getFault_Hardware().getValue(), name + "- Hardware Fault.", FaultType.ERROR);
+        cancoder, cancoder.getFault_BadMagnet(), name + "- Bad Magnet Signal.", FaultType.ERROR);
     register(
-        () -> cancoder.getFault_BadMagnet().getValue(),
-        name + "- Bad Magnet Signal.",
-        FaultType.ERROR);
-    register(
-        () -> cancoder.getFault_BootDuringEnable().getValue(),
+        cancoder,
+        cancoder.getFault_BootDuringEnable(),
         name + "- Boot While Enabling.",
         FaultType.WARNING);
     register(
-        () -> cancoder.getFault_Undervoltage().getValue(),
+        cancoder,
+        cancoder.getFault_Undervoltage(),
         name + "- Voltage Too Low, Check For Brownouts.",
         FaultType.WARNING);
   }
@@ -264,14 +369,15 @@ public final class FaultLogger {
                 pigeon.getFault_Undervoltage()),
         pigeon);
 
+    register(pigeon, pigeon.getFault_Hardware(), name + "- Hardware Fault.", FaultType.ERROR);
     register(
-        () -> pigeon.getFault_Hardware().getValue(), name + "- Hardware Fault.", FaultType.ERROR);
-    register(
-        () -> pigeon.getFault_BootDuringEnable().getValue(),
+        pigeon,
+        pigeon.getFault_BootDuringEnable(),
         name + "- Boot While Enabling.",
         FaultType.WARNING);
     register(
-        () -> pigeon.getFault_Undervoltage().getValue(),
+        pigeon,
+        pigeon.getFault_Undervoltage(),
         name + "- Voltage Too Low, Check For Brownouts.",
         FaultType.WARNING);
   }
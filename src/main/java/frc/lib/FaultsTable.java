@@ -6,15 +6,28 @@ package frc.lib;
 
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.StringArrayPublisher;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 // (from 1155)
 
-/** A table on Network Tables that contains non-persistent faults. */
+/**
+ * A table on Network Tables that contains non-persistent faults.
+ *
+ * <p>Each fault type's descriptions are kept sorted, and only republished when they change.
+ */
 public class FaultsTable {
-  private final StringArrayPublisher errors;
-  private final StringArrayPublisher warnings;
-  private final StringArrayPublisher infos;
+  private static final FaultType[] types = FaultType.values();
+
+  // indexed by fault type ordinal
+  private final StringArrayPublisher[] publishers = new StringArrayPublisher[types.length];
+
+  // the last published descriptions, sorted, and the descriptions being built from a new set
+  private final String[][] published = new String[types.length][];
+  private final List<List<String>> descriptions = new ArrayList<>();
+
+  private final long[] changes = new long[types.length];
 
   /** An individual fault, containing necessary information. */
   public static record Fault(String description, FaultType type) {
@@ -50,22 +63,59 @@ public class FaultsTable {
 
     table.getStringTopic(".type").publish().set("Alerts"); // set to alerts widget
 
-    errors = table.getStringArrayTopic("errors").publish();
-    warnings = table.getStringArrayTopic("warnings").publish();
-    infos = table.getStringArrayTopic("infos").publish();
+    publishers[FaultType.ERROR.ordinal()] = table.getStringArrayTopic("errors").publish();
+    publishers[FaultType.WARNING.ordinal()] = table.getStringArrayTopic("warnings").publish();
+    publishers[FaultType.INFO.ordinal()] = table.getStringArrayTopic("infos").publish();
+
+    for (FaultType type : types) {
+      published[type.ordinal()] = new String[0];
+      descriptions.add(new ArrayList<>());
+
+      publishers[type.ordinal()].set(published[type.ordinal()]);
+    }
   }
 
+  /** Publishes a set of faults, only republishing the fault types whose descriptions changed. */
   public void set(Set<Fault> faults) {
-    errors.set(filteredStrings(faults, FaultType.ERROR));
-    warnings.set(filteredStrings(faults, FaultType.WARNING));
-    infos.set(filteredStrings(faults, FaultType.INFO));
+    for (List<String> typeDescriptions : descriptions) {
+      typeDescriptions.clear();
+    }
+
+    for (Fault fault : faults) {
+      descriptions.get(fault.type().ordinal()).add(fault.description());
+    }
+
+    for (FaultType type : types) {
+      List<String> typeDescriptions = descriptions.get(type.ordinal());
+
+      typeDescriptions.sort(null);
+
+      if (matches(published[type.ordinal()], typeDescriptions)) continue;
+
+      published[type.ordinal()] = typeDescriptions.toArray(String[]::new);
+      publishers[type.ordinal()].set(published[type.ordinal()]);
+
+      changes[type.ordinal()]++;
+    }
+  }
+
+  /** The published descriptions of a fault type, sorted. */
+  public String[] get(FaultType type) {
+    return published[type.ordinal()].clone();
   }
 
-  // Returns an array of descriptions of all faults that match the specified type.
-  private String[] filteredStrings(Set<Fault> faults, FaultType type) {
-    return faults.stream()
-        .filter(a -> a.type() == type)
-        .map(Fault::description)
-        .toArray(String[]::new);
+  /** How many times the descriptions of a fault type have changed and been republished. */
+  public long getChanges(FaultType type) {
+    return changes[type.ordinal()];
+  }
+
+  private static boolean matches(String[] published, List<String> descriptions) {
+    if (published.length != descriptions.size()) return false;
+
+    for (int i = 0; i < published.length; i++) {
+      if (!published[i].equals(descriptions.get(i))) return false;
+    }
+
+    return true;
   }
 }
@@ -0,0 +1,200 @@
+package frc.lib;
+
+import edu.wpi.first.math.MathUtil;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.DoubleSupplier;
+
+/**
+ * An {@link InputStream} that compiles its operations into one flat list, evaluated in a single
+ * loop instead of through a lambda per operation. Consecutive scales, negations and offsets are
+ * fused into one affine operation, and negations are moved past symmetric operations so they fuse
+ * with later scales.
+ *
+ * <pre>
+ * InputPipeline.of(controller::getLeftY, "Left Y").negate().signedPow(2).scale(4.5);
+ *
+ * // Left Y -> signedPow(2) -> -4.5x
+ * </pre>
+ *
+ * <p>Operations that can't be compiled, like {@link #map} or {@link #rateLimit}, still work but
+ * wrap the pipeline like any other stream.
+ */
+public final class InputPipeline implements InputStream {
+  private static final int _affine = 0;
+  private static final int _pow = 1;
+  private static final int _signedPow = 2;
+  private static final int _deadband = 3;
+  private static final int _clamp = 4;
+
+  private final DoubleSupplier _source;
+  private final String _name;
+
+  // each operation has two parameters
+  private final int[] _ops;
+  private final double[] _params;
+
+  private InputPipeline(DoubleSupplier source, String name, int[] ops, double[] params) {
+    _source = source;
+    _name = name;
+
+    _ops = ops;
+    _params = params;
+  }
+
+  /**
+   * Creates an empty pipeline.
+   *
+   * @param source The source of the pipeline's inputs.
+   * @param name The source's name, for describing the pipeline.
+   * @return A pipeline that returns its source's values.
+   */
+  public static InputPipeline of(DoubleSupplier source, String name) {
+    return new InputPipeline(source, name, new int[0], new double[0]);
+  }
+
+  @Override
+  public double getAsDouble() {
+    double x = _source.getAsDouble();
+
+    for (int i = 0; i < _ops.length; i++) {
+      double a = _params[2 * i];
+      double b = _params[2 * i + 1];
+
+      switch (_ops[i]) {
+        case _affine -> x = a * x + b;
+        case _pow -> x = Math.pow(x, a);
+        case _signedPow -> x = Math.copySign(Math.pow(x, a), x);
+        case _deadband -> x = MathUtil.applyDeadband(x, a, b);
+        case _clamp -> x = MathUtil.clamp(x, -a, a);
+      }
+    }
+
+    return x;
+  }
+
+  /** The number of compiled operations. */
+  public int size() {
+    return _ops.length;
+  }
+
+  @Override
+  public InputPipeline scale(double factor) {
+    return affine(factor, 0);
+  }
+
+  @Override
+  public InputPipeline negate() {
+    return affine(-1, 0);
+  }
+
+  @Override
+  public InputPipeline add(double offset) {
+    return affine(1, offset);
+  }
+
+  @Override
+  public InputPipeline pow(double exponent) {
+    return append(_pow, exponent, 0);
+  }
+
+  @Override
+  public InputPipeline signedPow(double exponent) {
+    // only odd for integer exponents, otherwise negative inputs are nan
+    if (Math.rint(exponent) == exponent) return appendOdd(_signedPow, exponent, 0);
+
+    return append(_signedPow, exponent, 0);
+  }
+
+  @Override
+  public InputPipeline deadband(double deadband, double max) {
+    return appendOdd(_deadband, deadband, max);
+  }
+
+  @Override
+  public InputPipeline clamp(double magnitude) {
+    return appendOdd(_clamp, magnitude, 0);
+  }
+
+  /** The pipeline's structure, like {@code Left Y -> deadband(0.1, 1) -> -2x}. */
+  @Override
+  public String toString() {
+    StringBuilder description = new StringBuilder(_name);
+
+    for (int i = 0; i < _ops.length; i++) {
+      double a = _params[2 * i];
+      double b = _params[2 * i + 1];
+
+      description.append(" -> ");
+
+      switch (_ops[i]) {
+        case _affine -> {
+          description.append(format(a)).append('x');
+
+          if (b != 0) description.append(b > 0 ? " + " : " - ").append(format(Math.abs(b)));
+        }
+        case _pow -> description.append("pow(").append(format(a)).append(')');
+        case _signedPow -> description.append("signedPow(").append(format(a)).append(')');
+        case _deadband -> description.append("deadband(" + format(a) + ", " + format(b) + ")");
+        case _clamp -> description.append("clamp(").append(format(a)).append(')');
+      }
+    }
+
+    return description.toString();
+  }
+
+  // fuses with a trailing affine operation, or drops out entirely if it does nothing
+  private InputPipeline affine(double scale, double offset) {
+    int last = _ops.length - 1;
+
+    if (last < 0 || _ops[last] != _affine) {
+      if (scale == 1 && offset == 0) return this;
+
+      return append(_affine, scale, offset);
+    }
+
+    double fusedScale = _params[2 * last] * scale;
+    double fusedOffset = _params[2 * last + 1] * scale + offset;
+
+    InputPipeline pipeline = removeLast();
+
+    if (fusedScale == 1 && fusedOffset == 0) return pipeline;
+
+    return pipeline.append(_affine, fusedScale, fusedOffset);
+  }
+
+  // appends an odd operation, moving a trailing negation past it so it can fuse with later scales
+  private InputPipeline appendOdd(int op, double a, double b) {
+    int last = _ops.length - 1;
+
+    boolean isNegation =
+        last >= 0 && _ops[last] == _affine && _params[2 * last] == -1 && _params[2 * last + 1] == 0;
+
+    if (!isNegation) return append(op, a, b);
+
+    return removeLast().append(op, a, b).append(_affine, -1, 0);
+  }
+
+  private InputPipeline append(int op, double a, double b) {
+    int[] ops = Arrays.copyOf(_ops, _ops.length + 1);
+    double[] params = Arrays.copyOf(_params, _params.length + 2);
+
+    ops[_ops.length] = op;
+    params[_params.length] = a;
+    params[_params.length + 1] = b;
+
+    return new InputPipeline(_source, _name, ops, params);
+  }
+
+  private InputPipeline removeLast() {
+    return new InputPipeline(
+        _source,
+        _name,
+        Arrays.copyOf(_ops, _ops.length - 1),
+        Arrays.copyOf(_params, _params.length - 2));
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.4g", value).replaceAll("\\.?0+(?=$|e)", "");
+  }
+}
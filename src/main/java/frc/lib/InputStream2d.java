@@ -0,0 +1,192 @@
+package frc.lib;
+
+import edu.wpi.first.math.MathSharedStore;
+import edu.wpi.first.math.MathUtil;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A two dimensional input stream, such as from a joystick, that's shaped by its magnitude so
+ * diagonal inputs aren't distorted. Both axes are sampled together once per {@link #sample()}, and
+ * the output is read back from the same stream without allocating.
+ *
+ * <pre>
+ * var translation = InputStream2d.of(controller::getLeftY, controller::getLeftX)
+ *     .deadband(0.1)
+ *     .signedPow(2)
+ *     .scale(-4.5);
+ *
+ * translation.sample(); // once per loop
+ *
+ * drive(translation.getX(), translation.getY());
+ * </pre>
+ *
+ * <p>Operations are applied in a fixed order: deadband, power, scale, rate limit and rotation.
+ */
+public class InputStream2d {
+  private final DoubleSupplier _x;
+  private final DoubleSupplier _y;
+
+  private double _deadband = 0;
+  private double _exponent = 1;
+  private double _scale = 1;
+
+  private double _rate = Double.POSITIVE_INFINITY;
+  private double _prevTime = 0;
+
+  private DoubleSupplier _rotation = null;
+
+  // the rate limited output, before rotation
+  private double _limitedX = 0;
+  private double _limitedY = 0;
+
+  private double _outputX = 0;
+  private double _outputY = 0;
+
+  private InputStream2d(DoubleSupplier x, DoubleSupplier y) {
+    _x = x;
+    _y = y;
+  }
+
+  /**
+   * Creates a two dimensional stream from two axes.
+   *
+   * @param x The x axis.
+   * @param y The y axis.
+   * @return A new stream.
+   */
+  public static InputStream2d of(DoubleSupplier x, DoubleSupplier y) {
+    return new InputStream2d(x, y);
+  }
+
+  /**
+   * Deadbands the input's magnitude, scaling the rest of it back up to a magnitude of 1. Magnitudes
+   * over 1, like from the corners of a square joystick gate, are clamped to 1.
+   *
+   * @param deadband The magnitude to deadband under.
+   * @return This stream.
+   */
+  public InputStream2d deadband(double deadband) {
+    _deadband = deadband;
+
+    return this;
+  }
+
+  /**
+   * Raises the magnitude to an exponent, keeping its direction.
+   *
+   * @param exponent The exponent.
+   * @return This stream.
+   */
+  public InputStream2d signedPow(double exponent) {
+    _exponent = exponent;
+
+    return this;
+  }
+
+  /**
+   * Scales the output, which can be negative to flip both axes.
+   *
+   * @param factor The scaling factor.
+   * @return This stream.
+   */
+  public InputStream2d scale(double factor) {
+    _scale = factor;
+
+    return this;
+  }
+
+  /**
+   * Rate limits the output as a vector, so that releasing the stick ramps down and reversing it
+   * passes through zero instead of flipping in one loop.
+   *
+   * @param rate The rate in units / s.
+   * @return This stream.
+   */
+  public InputStream2d rateLimit(double rate) {
+    _rate = rate;
+    _prevTime = MathSharedStore.getTimestamp();
+
+    return this;
+  }
+
+  /**
+   * Rotates the output counterclockwise, such as to make it field relative.
+   *
+   * @param angle A supplier of the angle in radians.
+   * @return This stream.
+   */
+  public InputStream2d rotate(DoubleSupplier angle) {
+    _rotation = angle;
+
+    return this;
+  }
+
+  /** Samples both axes and updates the output. */
+  public void sample() {
+    double x = _x.getAsDouble();
+    double y = _y.getAsDouble();
+
+    double magnitude = Math.hypot(x, y);
+
+    double shaped = MathUtil.applyDeadband(Math.min(magnitude, 1), _deadband, 1);
+    shaped = Math.pow(shaped, _exponent) * _scale;
+
+    // only inputs past the deadband have a direction, noise under it is just zero
+    double outputX = shaped == 0 ? 0 : x / magnitude * shaped;
+    double outputY = shaped == 0 ? 0 : y / magnitude * shaped;
+
+    if (_rate != Double.POSITIVE_INFINITY) {
+      double time = MathSharedStore.getTimestamp();
+      double maxDelta = _rate * (time - _prevTime);
+
+      _prevTime = time;
+
+      double deltaX = outputX - _limitedX;
+      double deltaY = outputY - _limitedY;
+
+      double delta = Math.hypot(deltaX, deltaY);
+
+      // clamp the change in the whole vector, not each axis
+      if (delta > maxDelta) {
+        deltaX *= maxDelta / delta;
+        deltaY *= maxDelta / delta;
+      }
+
+      _limitedX += deltaX;
+      _limitedY += deltaY;
+
+      outputX = _limitedX;
+      outputY = _limitedY;
+    }
+
+    if (_rotation == null) {
+      _outputX = outputX;
+      _outputY = outputY;
+
+      return;
+    }
+
+    double angle = _rotation.getAsDouble();
+
+    double cos = Math.cos(angle);
+    double sin = Math.sin(angle);
+
+    _outputX = outputX * cos - outputY * sin;
+    _outputY = outputX * sin + outputY * cos;
+  }
+
+  /** The x output as of the latest sample. */
+  public double getX() {
+    return _outputX;
+  }
+
+  /** The y output as of the latest sample. */
+  public double getY() {
+    return _outputY;
+  }
+
+  /** The output's magnitude as of the latest sample. */
+  public double getMagnitude() {
+    return Math.hypot(_outputX, _outputY);
+  }
+}
@@ -0,0 +1,165 @@
+package frc.lib;
+
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.signals.MotionMagicIsRunningValue;
+import frc.lib.SignalSnapshot.Signal;
+
+/**
+ * Tracks a motion magic profile on a talonfx from its closed-loop reference signals, raising an
+ * event on the loop the profile starts, reaches its target or stalls.
+ *
+ * <p>A profile only counts as started once motion magic is running and the reference signals are
+ * timestamped after the profile was requested, so references left over from an older control
+ * request are never mistaken for the new profile.
+ *
+ * <pre>
+ * tracker.start(target, tolerance, true); // right after sending the control request
+ *
+ * // every loop, after the signals are refreshed
+ * if (tracker.update() == Event.REACHED) { ... }
+ * </pre>
+ */
+public class MotionMagicTracker {
+  /** A change in the profile's state. */
+  public static enum Event {
+    NONE,
+    STARTED,
+    REACHED,
+    STALLED
+  }
+
+  private static enum State {
+    IDLE,
+    REQUESTED,
+    RUNNING,
+    REACHED,
+    STALLED
+  }
+
+  private final Signal _isRunning;
+  private final Signal _reference;
+  private final Signal _referenceSlope;
+  private final Signal _position;
+
+  private final double _stallError;
+  private final double _stallTime;
+
+  private State _state = State.IDLE;
+
+  private double _target = 0;
+  private double _tolerance = 0;
+  private boolean _stop = true;
+
+  private double _requestTime = 0;
+  private double _reachedTime = 0;
+
+  // when the position started lagging the reference by more than the stall error
+  private double _lagStartTime = Double.NaN;
+
+  /**
+   * Creates a new MotionMagicTracker. All signals must be refreshed before every {@link #update()}.
+   *
+   * @param isRunning The motion magic is running signal.
+   * @param reference The closed-loop reference signal.
+   * @param referenceSlope The closed-loop reference slope signal.
+   * @param position The position signal.
+   * @param stallError How far the position can lag the reference in rotations before stalling.
+   * @param stallTime How long the position has to lag the reference in seconds to stall.
+   */
+  public MotionMagicTracker(
+      Signal isRunning,
+      Signal reference,
+      Signal referenceSlope,
+      Signal position,
+      double stallError,
+      double stallTime) {
+    _isRunning = isRunning;
+    _reference = reference;
+    _referenceSlope = referenceSlope;
+    _position = position;
+
+    _stallError = stallError;
+    _stallTime = stallTime;
+  }
+
+  /**
+   * Starts tracking a new profile, which should be called right after its control request is sent.
+   *
+   * @param target The profile's target position in rotations.
+   * @param tolerance How close the reference has to get to the target in rotations.
+   * @param stop Whether the reference also has to come to a stop to reach the target.
+   */
+  public void start(double target, double tolerance, boolean stop) {
+    _target = target;
+    _tolerance = tolerance;
+    _stop = stop;
+
+    _requestTime = Utils.getCurrentTimeSeconds();
+    _lagStartTime = Double.NaN;
+
+    _state = State.REQUESTED;
+  }
+
+  /** Updates the profile's state from the latest signals, returning any change. */
+  public Event update() {
+    switch (_state) {
+      case REQUESTED:
+        if (_isRunning.getValue() != MotionMagicIsRunningValue.Enabled.value
+            || _reference.getTimestamp() <= _requestTime
+            || _referenceSlope.getTimestamp() <= _requestTime) return Event.NONE;
+
+        _state = State.RUNNING;
+
+        // a profile can already be at its target on the first reference
+        return hasReachedTarget() ? reach() : Event.STARTED;
+
+      case RUNNING:
+        if (hasReachedTarget()) return reach();
+
+        if (Math.abs(_reference.getValue() - _position.getValue()) <= _stallError) {
+          _lagStartTime = Double.NaN;
+
+          return Event.NONE;
+        }
+
+        if (Double.isNaN(_lagStartTime)) _lagStartTime = _position.getTimestamp();
+
+        if (_position.getTimestamp() - _lagStartTime < _stallTime) return Event.NONE;
+
+        _state = State.STALLED;
+
+        return Event.STALLED;
+
+      default:
+        return Event.NONE;
+    }
+  }
+
+  /** Whether the latest profile reached its target, or no profile was ever started. */
+  public boolean hasReached() {
+    return _state == State.REACHED || _state == State.IDLE;
+  }
+
+  /** Whether the latest profile stalled. */
+  public boolean hasStalled() {
+    return _state == State.STALLED;
+  }
+
+  /** The timestamp of the reference that reached the latest target in seconds. */
+  public double getReachedTime() {
+    return _reachedTime;
+  }
+
+  private boolean hasReachedTarget() {
+    if (Math.abs(_reference.getValue() - _target) > _tolerance) return false;
+
+    return !_stop || Math.abs(_referenceSlope.getValue()) <= _tolerance;
+  }
+
+  private Event reach() {
+    _state = State.REACHED;
+    _reachedTime = Math.max(_reference.getTimestamp(), _referenceSlope.getTimestamp());
+
+    return Event.REACHED;
+  }
+}
@@ -0,0 +1,117 @@
+package frc.lib;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SignalSnapshot refreshes every registered status signal together once per loop, so that
+ * everything reading them sees the same values without making its own CAN call.
+ *
+ * <pre>
+ * Signal position = SignalSnapshot.register(talonfx, talonfx.getPosition());
+ *
+ * position.getValue(); // the position at the start of this loop in rotations
+ * </pre>
+ *
+ * <p>{@link #refresh()} must be called at the start of every loop, before commands and subsystems
+ * run.
+ */
+public final class SignalSnapshot {
+  /** The value of a registered signal as of the latest refresh. */
+  public static final class Signal {
+    private final BaseStatusSignal _signal;
+
+    private double _value = 0;
+    private double _timestamp = 0;
+
+    private Signal(BaseStatusSignal signal) {
+      _signal = signal;
+    }
+
+    /** The value in the signal's base units. */
+    public double getValue() {
+      return _value;
+    }
+
+    /** The timestamp of the value in seconds. */
+    public double getTimestamp() {
+      return _timestamp;
+    }
+
+    private void update() {
+      _value = _signal.getValueAsDouble();
+      _timestamp = _signal.getTimestamp().getTime();
+    }
+  }
+
+  // signals grouped by can network, since signals on different networks can't be refreshed together
+  private static final Map<String, List<Signal>> _networks = new LinkedHashMap<>();
+
+  private static BaseStatusSignal[][] _groups = new BaseStatusSignal[0][];
+  private static Signal[] _signals = new Signal[0];
+
+  /**
+   * Registers a signal to be refreshed every loop.
+   *
+   * @param device The device the signal belongs to.
+   * @param signal The signal.
+   * @return The signal's snapshot, which already has a value.
+   */
+  public static Signal register(ParentDevice device, BaseStatusSignal signal) {
+    Signal snapshot = new Signal(signal);
+
+    _networks.computeIfAbsent(device.getNetwork(), network -> new ArrayList<>()).add(snapshot);
+
+    rebuild();
+
+    signal.refresh();
+    snapshot.update();
+
+    return snapshot;
+  }
+
+  /** Unregisters all signals. */
+  public static void unregisterAll() {
+    _networks.clear();
+
+    rebuild();
+  }
+
+  /** Refreshes all registered signals, with one CAN call per network. */
+  public static void refresh() {
+    for (BaseStatusSignal[] group : _groups) {
+      BaseStatusSignal.refreshAll(group);
+    }
+
+    for (Signal signal : _signals) {
+      signal.update();
+    }
+  }
+
+  // flattens the networks into arrays so refreshing doesn't allocate
+  private static void rebuild() {
+    List<Signal> signals = new ArrayList<>();
+
+    _groups = new BaseStatusSignal[_networks.size()][];
+
+    int i = 0;
+
+    for (List<Signal> network : _networks.values()) {
+      _groups[i] = new BaseStatusSignal[network.size()];
+
+      for (int j = 0; j < network.size(); j++) {
+        _groups[i][j] = network.get(j)._signal;
+      }
+
+      signals.addAll(network);
+
+      i++;
+    }
+
+    _signals = signals.toArray(Signal[]::new);
+  }
+}
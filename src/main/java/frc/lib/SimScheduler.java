@@ -0,0 +1,130 @@
+package frc.lib;
+
+import static edu.wpi.first.units.Units.*;
+
+import edu.wpi.first.units.measure.Frequency;
+import edu.wpi.first.units.measure.Time;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * SimScheduler steps the physics of every registered simulated mechanism in lockstep, with a fixed
+ * timestep on a virtual clock.
+ *
+ * <pre>
+ * SimScheduler.register(dt -> elevatorSim.update(dt)); // called every substep with the timestep
+ * </pre>
+ *
+ * <p>In simulation the virtual clock is kept up with real time by {@link #startRealTime()}. In unit
+ * tests it is instead advanced with {@link #step(Time)}, which runs as fast as possible.
+ */
+public final class SimScheduler {
+  // how often the real time thread catches the virtual clock up
+  private static final double _realTimePeriod = 0.005;
+
+  // the most time the real time thread will catch up in one go, so a pause doesn't stall it
+  private static final double _maxCatchUp = 0.1;
+
+  private static final List<DoubleConsumer> _mechanisms = new ArrayList<>();
+
+  private static double _period = 1.0 / 1000;
+
+  private static double _time = 0;
+
+  // time that has been requested but is less than a full substep
+  private static double _remainder = 0;
+
+  private static Notifier _realTimeNotifier;
+
+  private static double _lastRealTime;
+
+  /**
+   * Registers a mechanism to be stepped.
+   *
+   * @param mechanism Steps the mechanism's physics given the timestep in seconds.
+   */
+  public static synchronized void register(DoubleConsumer mechanism) {
+    _mechanisms.add(mechanism);
+  }
+
+  /** Unregisters all mechanisms. */
+  public static synchronized void unregisterAll() {
+    _mechanisms.clear();
+  }
+
+  /** Sets the rate at which all mechanisms are stepped. */
+  public static synchronized void setFrequency(Frequency frequency) {
+    _period = 1 / frequency.in(Hertz);
+  }
+
+  /** The current time of the virtual clock in seconds. */
+  public static synchronized double getTime() {
+    return _time;
+  }
+
+  /** Resets the virtual clock to 0. */
+  public static synchronized void resetTime() {
+    _time = 0;
+    _remainder = 0;
+  }
+
+  /**
+   * Advances the virtual clock, stepping all mechanisms as many full substeps as fit. Leftover time
+   * is carried over to the next call.
+   *
+   * @param seconds The time to advance by in seconds.
+   */
+  public static synchronized void step(double seconds) {
+    _remainder += seconds;
+
+    while (_remainder >= _period) {
+      for (DoubleConsumer mechanism : _mechanisms) {
+        mechanism.accept(_period);
+      }
+
+      _time += _period;
+      _remainder -= _period;
+    }
+  }
+
+  /** Advances the virtual clock, stepping all mechanisms as many full substeps as fit. */
+  public static void step(Time time) {
+    step(time.in(Seconds));
+  }
+
+  /** Starts a thread that keeps the virtual clock up with real time. */
+  public static synchronized void startRealTime() {
+    if (_realTimeNotifier != null) return;
+
+    _lastRealTime = Timer.getFPGATimestamp();
+
+    _realTimeNotifier =
+        new Notifier(
+            () -> {
+              double currentTime = Timer.getFPGATimestamp();
+
+              step(Math.min(currentTime - _lastRealTime, _maxCatchUp));
+
+              _lastRealTime = currentTime;
+            });
+
+    _realTimeNotifier.setName("Sim Scheduler");
+    _realTimeNotifier.startPeriodic(_realTimePeriod);
+  }
+
+  /** Stops the real time thread. */
+  public static void stopRealTime() {
+    Notifier notifier;
+
+    synchronized (SimScheduler.class) {
+      notifier = _realTimeNotifier;
+      _realTimeNotifier = null;
+    }
+
+    // closed outside of the lock since it waits for a running step to finish
+    if (notifier != null) notifier.close();
+  }
+}
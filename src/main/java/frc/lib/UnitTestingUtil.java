@@ -42,6 +42,7 @@ public class UnitTestingUtil {
     assert DriverStation.isEnabled();
 
     DogLog.setEnabled(false); // disabling doglog since it logs to the default nt instance
+    ChangeLogger.setEnabled(false); // and no log files from tests
 
     FaultLogger.setup(_ntInst);
     FaultLogger.enableConsole(false);
@@ -73,18 +74,26 @@ public class UnitTestingUtil {
     FaultLogger.clear();
     FaultLogger.unregisterAll();
 
+    SignalSnapshot.unregisterAll();
+
+    SimScheduler.unregisterAll();
+    SimScheduler.resetTime();
+
     HAL.shutdown();
   }
 
   /**
    * Runs CommandScheduler and updates timer repeatedly to fast forward subsystems and run commands.
+   * Simulated mechanisms are stepped along with the timer, as fast as possible.
    *
    * @param ticks The number of times CommandScheduler is run.
    */
   public static void fastForward(int ticks) {
     for (int i = 0; i < ticks; i++) {
+      SignalSnapshot.refresh();
       CommandScheduler.getInstance().run();
       SimHooks.stepTiming(TICK_RATE.in(Seconds));
+      SimScheduler.step(TICK_RATE);
     }
   }
 
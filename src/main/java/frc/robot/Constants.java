@@ -5,8 +5,6 @@
 package frc.robot;
 
 import static edu.wpi.first.units.Units.*;
-import static frc.robot.Constants.WristevatorConstants.Intermediate.*;
-import static frc.robot.Constants.WristevatorConstants.Preset.*;
 
 import edu.wpi.first.apriltag.AprilTagFieldLayout;
 import edu.wpi.first.apriltag.AprilTagFields;
@@ -25,16 +23,21 @@ import edu.wpi.first.units.VoltageUnit;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularAcceleration;
 import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.units.measure.LinearAcceleration;
 import edu.wpi.first.units.measure.LinearVelocity;
+import edu.wpi.first.units.measure.Mass;
 import edu.wpi.first.units.measure.Per;
+import edu.wpi.first.units.measure.Time;
+import edu.wpi.first.units.measure.Velocity;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.generated.TunerConstants;
 import frc.robot.utils.AlignPoses;
 import frc.robot.utils.VisionPoseEstimator.VisionPoseEstimatorConstants;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,7 +49,7 @@ import java.util.Map;
  * constants are needed, to reduce verbosity.
  */
 public final class Constants {
-  public static final Frequency simUpdateFrequency = Hertz.of(200);
+  public static final Frequency simUpdateFrequency = Hertz.of(1000);
 
   public static final String canivore = "CTRE";
 
@@ -130,6 +133,13 @@ public final class Constants {
                 Inches.of(324.95).in(Meters), Inches.of(241.89).in(Meters), Rotation2d.kCCW_90deg),
             new Pose2d(
                 Inches.of(324.95).in(Meters), Inches.of(200.16).in(Meters), Rotation2d.kCCW_90deg));
+
+    // distance from the reef center to one of its faces
+    public static final Distance reefApothem = Inches.of(65.49 / 2);
+
+    // the barge spans the whole field width, with the cages hanging off of both its sides
+    public static final Distance bargeHalfWidth =
+        Meters.of(fieldCenter.getX() - cage.getCenter().getX());
   }
 
   public static class VisionConstants {
@@ -210,10 +220,47 @@ public final class Constants {
     public static final AngularAcceleration maxAngularAcceleration =
         RadiansPerSecondPerSecond.of(Math.PI * 3);
 
+    // free speed of the steer motor through the steer gearing
+    public static final AngularVelocity maxSteerVelocity = RotationsPerSecond.of(4.5);
+
     public static final LinearVelocity translationalDeadband = maxTranslationalSpeed.times(0.1);
+
+    // radial deadband of the driver's translation stick
+    public static final double translationalStickDeadband = 0.05;
     public static final AngularVelocity rotationalDeadband = maxAngularSpeed.times(0.1);
 
     public static final Distance pathingThreshold = Meters.of(1.5);
+
+    // nav grid cell size and how far field obstacles are grown (half the bumper width)
+    public static final Distance navGridResolution = Meters.of(0.2);
+    public static final Distance navGridInflation = Inches.of(18);
+
+    // trajectory following feedback, off until the auto eval gain sweep picks gains
+    public static final double trajectoryTranslationkP = 0;
+    public static final double trajectoryHeadingkP = 0;
+
+    // how many points the path of a generated alignment trajectory is split into
+    public static final int alignTrajectorySamples = 100;
+
+    // time allowed to settle at the end of an alignment trajectory, when estimating arrival
+    public static final Time alignSettleTime = Seconds.of(0.3);
+
+    // how many dummy samples to run the trajectory follower with before auto, well past hotspot's
+    // c2 thresholds (around 5k calls or 15k loop back-edges), and how many of them to run per loop
+    // so that no loop overruns, which takes 6 s of disabled time
+    public static final int warmUpIterations = 15000;
+    public static final int warmUpIterationsPerLoop = 50;
+
+    // wheel slip and collision detection
+    public static final LinearVelocity slipResidualThreshold = MetersPerSecond.of(0.3);
+    public static final Current slipStallCurrent = Amps.of(60);
+    public static final LinearVelocity slipStallSpeed = MetersPerSecond.of(0.2);
+    public static final Time slipStallTime = Seconds.of(0.15);
+    public static final LinearAcceleration collisionAcceleration = Gs.of(1.5);
+
+    // how long vision is trusted more after a slip or collision, and by how much
+    public static final Time slipRecoveryTime = Seconds.of(0.5);
+    public static final double slipVisionStdDevsFactor = 0.25;
   }
 
   public static class IntakeConstants {
@@ -323,33 +370,22 @@ public final class Constants {
       }
     }
 
-    public static final HashMap<Pair<Setpoint, Setpoint>, Setpoint> setpointMap = new HashMap<>();
-
-    static {
-      // going to a upwards wrist angle from home
-      setpointMap.put(Pair.of(HOME, L1), I1);
-      setpointMap.put(Pair.of(HOME, L4), I2);
-
-      // going up to l4
-      setpointMap.put(Pair.of(I1, L4), I2);
-      setpointMap.put(Pair.of(L1, L4), I2);
-      setpointMap.put(Pair.of(L2, L4), I2);
-      setpointMap.put(Pair.of(L3, L4), I2);
-      setpointMap.put(Pair.of(LOWER_ALGAE, L4), I2);
-      setpointMap.put(Pair.of(UPPER_ALGAE, L4), I2);
-      setpointMap.put(Pair.of(HUMAN, L4), I2);
-      setpointMap.put(Pair.of(PROCESSOR, L4), I2);
-
-      // going down from l4
-      setpointMap.put(Pair.of(L4, L3), I2);
-      setpointMap.put(Pair.of(L4, L2), I2);
-      setpointMap.put(Pair.of(L4, L1), I2);
-      setpointMap.put(Pair.of(L4, HOME), I2);
-      setpointMap.put(Pair.of(L4, UPPER_ALGAE), I2);
-      setpointMap.put(Pair.of(L4, LOWER_ALGAE), I2);
-      setpointMap.put(Pair.of(L4, HUMAN), I2);
-      setpointMap.put(Pair.of(L4, PROCESSOR), I2);
-    }
+    // the moves the obstacles are drawn to forbid, which the planner forbids instead if the
+    // obstacles fail to load
+    public static final List<Pair<Setpoint, Setpoint>> fallbackForbiddenEdges =
+        List.of(
+            Pair.of(Preset.HOME, Preset.L1),
+            Pair.of(Preset.PROCESSOR, Preset.L1),
+            Pair.of(Preset.HOME, Preset.L4),
+            Pair.of(Preset.HUMAN, Preset.L4),
+            Pair.of(Preset.PROCESSOR, Preset.L4),
+            Pair.of(Preset.L1, Preset.L4),
+            Pair.of(Preset.L2, Preset.L4),
+            Pair.of(Preset.L3, Preset.L4),
+            Pair.of(Preset.LOWER_ALGAE, Preset.L4),
+            Pair.of(Preset.UPPER_ALGAE, Preset.L4),
+            Pair.of(Intermediate.I1, Preset.L4),
+            Pair.of(Intermediate.I3, Preset.L4));
 
     public static final AngularVelocity maxWristSpeed = RotationsPerSecond.of(1);
     public static final AngularVelocity maxElevatorSpeed = RotationsPerSecond.of(14);
@@ -362,6 +398,27 @@ public final class Constants {
     public static final AngularAcceleration maxElevatorAcceleration =
         RotationsPerSecondPerSecond.of(15);
 
+    public static final Velocity<AngularAccelerationUnit> maxWristJerk =
+        RotationsPerSecondPerSecond.per(Second).of(30);
+    public static final Velocity<AngularAccelerationUnit> maxElevatorJerk =
+        RotationsPerSecondPerSecond.per(Second).of(150);
+
+    // how close the profile references have to get to an intermediate before moving on
+    public static final Angle wristBlendTolerance = Radians.of(0.1);
+    public static final Angle elevatorBlendTolerance = Radians.of(1);
+
+    // how far the mechanism can lag its profile, and for how long, before it's stalled
+    public static final Angle wristStallError = Radians.of(0.3);
+    public static final Angle elevatorStallError = Radians.of(3);
+    public static final Time stallTime = Seconds.of(0.5);
+
+    // how far ahead manual motions are checked against obstacles
+    public static final Time obstacleLookahead = Seconds.of(0.15);
+
+    // while aligning, goals above this height wait until the robot is close to the alignment pose
+    public static final Angle prepositionSafeHeight = Radians.of(20);
+    public static final Distance prepositionDistance = Meters.of(1);
+
     public static final int homeSwitch = 7;
 
     public static final int leftMotorId = 12;
@@ -378,6 +435,10 @@ public final class Constants {
 
     public static final Distance manipulatorLength = Meters.of(0.18415);
 
+    // game piece masses held at the end of the wrist, used in simulation
+    public static final Mass coralMass = Pounds.of(1.5);
+    public static final Mass algaeMass = Pounds.of(1.4);
+
     public static final Angle minWristAngle = Radians.of(-1.3);
     public static final Angle maxWristAngle = Radians.of(1.32);
 
@@ -9,7 +9,6 @@ import static edu.wpi.first.wpilibj2.command.Commands.*;
 import static edu.wpi.first.wpilibj2.command.button.RobotModeTriggers.*;
 import static frc.robot.Constants.WristevatorConstants.Preset.*;
 
-import choreo.auto.AutoChooser;
 import com.ctre.phoenix6.SignalLogger;
 import dev.doglog.DogLog;
 import edu.wpi.first.epilogue.Epilogue;
@@ -23,18 +22,24 @@ import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
 import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.ScheduleCommand;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.lib.ChangeLogger;
 import frc.lib.FaultLogger;
-import frc.lib.InputStream;
+import frc.lib.InputPipeline;
+import frc.lib.InputStream2d;
+import frc.lib.SignalSnapshot;
+import frc.lib.SimScheduler;
 import frc.robot.Constants.FieldConstants;
 import frc.robot.Constants.Ports;
 import frc.robot.Constants.SwerveConstants;
 import frc.robot.Constants.WristevatorConstants;
+import frc.robot.Constants.WristevatorConstants.Setpoint;
 import frc.robot.commands.Autos;
 import frc.robot.commands.Superstructure;
 import frc.robot.commands.WheelRadiusCharacterization;
@@ -47,6 +52,7 @@ import frc.robot.subsystems.Swerve;
 import frc.robot.subsystems.Wristevator;
 import frc.robot.utils.AlignPoses;
 import frc.robot.utils.AlignPoses.AlignSide;
+import frc.robot.utils.PrebuiltAutoChooser;
 
 /**
  * The methods in this class are called automatically corresponding to each mode, as described in
@@ -78,12 +84,18 @@ public class Robot extends TimedRobot {
   private final Wristevator _wristevator = new Wristevator();
 
   private final Autos _autos = new Autos(_swerve);
-  private final AutoChooser _autoChooser = new AutoChooser();
+  private final PrebuiltAutoChooser _autoChooser = new PrebuiltAutoChooser();
 
   private final NetworkTableInstance _ntInst;
 
   private boolean _fileOnlySet = false;
 
+  // loop overruns in the first second of auto
+  private boolean _isCountingOverruns = false;
+  private int _autoOverruns = 0;
+
+  private double _lastLoopTime = 0;
+
   // global state variables
   private static Piece _currentPiece = Piece.NONE;
 
@@ -143,7 +155,42 @@ public class Robot extends TimedRobot {
 
     autonomous().whileTrue(_autoChooser.selectedCommandScheduler());
 
-    addPeriodic(FaultLogger::update, 1);
+    // build the selected auto and warm up trajectory following ahead of time
+    disabled().whileTrue(run(_autoChooser::update).ignoringDisable(true).withName("Build Auto"));
+    disabled().whileTrue(_swerve.warmUp());
+
+    // report loop overruns at the start of auto, where they cost the most
+    autonomous()
+        .onTrue(
+            sequence(
+                    runOnce(
+                        () -> {
+                          _autoOverruns = 0;
+                          _isCountingOverruns = true;
+                        }),
+                    waitSeconds(1),
+                    runOnce(
+                        () -> {
+                          _isCountingOverruns = false;
+
+                          DogLog.log("Auto/Startup Overruns", _autoOverruns);
+                          DataLogManager.log("Auto startup loop overruns: " + _autoOverruns);
+                        }))
+                .ignoringDisable(true)
+                .withName("Count Auto Overruns"));
+
+    // as often as the fault signals update
+    addPeriodic(FaultLogger::update, 0.25);
+  }
+
+  /** The drivetrain, for auto evaluation. */
+  Swerve getSwerve() {
+    return _swerve;
+  }
+
+  /** The auto chooser with all registered routines, for auto evaluation. */
+  PrebuiltAutoChooser getAutoChooser() {
+    return _autoChooser;
   }
 
   // set logging to be file only or not
@@ -162,34 +209,37 @@ public class Robot extends TimedRobot {
   }
 
   private void configureDefaultCommands() {
-    _swerve.setDefaultCommand(
-        _swerve.drive(
-            InputStream.of(_driverController::getLeftY)
-                .negate()
-                .signedPow(2)
-                .scale(SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond)),
-            InputStream.of(_driverController::getLeftX)
-                .negate()
-                .signedPow(2)
-                .scale(SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond)),
-            InputStream.of(_driverController::getRightX)
-                .negate()
-                .signedPow(2)
-                .scale(SwerveConstants.maxAngularSpeed.in(RadiansPerSecond))));
+    // both stick axes are shaped together by their magnitude, so diagonals aren't distorted
+    var translation =
+        InputStream2d.of(_driverController::getLeftY, _driverController::getLeftX)
+            .deadband(SwerveConstants.translationalStickDeadband)
+            .signedPow(2)
+            .scale(-SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond))
+            .rateLimit(SwerveConstants.maxTranslationalAcceleration.in(MetersPerSecondPerSecond));
+    var driveRotation =
+        InputPipeline.of(_driverController::getRightX, "Right X")
+            .negate()
+            .signedPow(2)
+            .scale(SwerveConstants.maxAngularSpeed.in(RadiansPerSecond));
+
+    var elevatorSpeed =
+        InputPipeline.of(_operatorController::getRightY, "Right Y")
+            .deadband(0.1, 1)
+            .negate()
+            .scale(WristevatorConstants.manualElevatorSpeed.in(RadiansPerSecond));
+    var wristSpeed =
+        InputPipeline.of(_operatorController::getLeftY, "Left Y")
+            .deadband(0.07, 1)
+            .negate()
+            .scale(WristevatorConstants.manualWristSpeed.in(RadiansPerSecond));
+
+    DataLogManager.log("Drive rotation input: " + driveRotation);
+    DataLogManager.log("Manual wristevator inputs: " + elevatorSpeed + ", " + wristSpeed);
+
+    _swerve.setDefaultCommand(_swerve.drive(translation, driveRotation));
 
     new Trigger(_wristevator::isManual)
-        .onTrue(
-            _wristevator
-                .setSpeeds(
-                    InputStream.of(_operatorController::getRightY)
-                        .deadband(0.1, 1)
-                        .negate()
-                        .scale(WristevatorConstants.manualElevatorSpeed.in(RadiansPerSecond)),
-                    InputStream.of(_operatorController::getLeftY)
-                        .deadband(0.07, 1)
-                        .negate()
-                        .scale(WristevatorConstants.manualWristSpeed.in(RadiansPerSecond)))
-                .ignoringDisable(true));
+        .onTrue(_wristevator.setSpeeds(elevatorSpeed, wristSpeed).ignoringDisable(true));
   }
 
   private void alignmentTriggers(Trigger button, AlignPoses poses, boolean startReversed) {
@@ -224,25 +274,26 @@ public class Robot extends TimedRobot {
     _operatorController.start().onTrue(_wristevator.setGoal(HUMAN));
     _operatorController.rightStick().onTrue(_wristevator.setGoal(HOME));
 
-    _operatorController.a().onTrue(_wristevator.setGoal(L1));
+    // reef setpoints are timed to finish with the drivetrain's alignment
+    _operatorController.a().onTrue(prepositionWristevator(L1));
 
     _operatorController
         .b()
         .onTrue(
             either(
-                _wristevator.setGoal(L2),
-                _wristevator.setGoal(LOWER_ALGAE),
+                prepositionWristevator(L2),
+                prepositionWristevator(LOWER_ALGAE),
                 () -> getCurrentPiece() == Piece.CORAL));
 
     _operatorController
         .y()
         .onTrue(
             either(
-                _wristevator.setGoal(L3),
-                _wristevator.setGoal(UPPER_ALGAE),
+                prepositionWristevator(L3),
+                prepositionWristevator(UPPER_ALGAE),
                 () -> getCurrentPiece() == Piece.CORAL));
 
-    _operatorController.x().onTrue(_wristevator.setGoal(L4));
+    _operatorController.x().onTrue(prepositionWristevator(L4));
 
     _operatorController.povDown().onTrue(_wristevator.switchToManual());
 
@@ -282,6 +333,10 @@ public class Robot extends TimedRobot {
     _operatorController.leftTrigger().whileTrue(_manipulator.outtake());
   }
 
+  private Command prepositionWristevator(Setpoint goal) {
+    return Superstructure.prepositionWristevator(_swerve, _wristevator, goal);
+  }
+
   /** Rumble the driver and operator controllers for some amount of seconds. */
   private Command rumbleControllers(double rumble, double seconds) {
     return run(() -> {
@@ -305,10 +360,20 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
+    double loopTime = Timer.getFPGATimestamp();
+
+    // a loop that started late means the previous one overran
+    if (_isCountingOverruns && loopTime - _lastLoopTime > getPeriod() * 1.1) _autoOverruns++;
+
+    _lastLoopTime = loopTime;
+
     // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
     // commands, running already-scheduled commands, removing finished or interrupted commands,
     // and running subsystem periodic() methods.  This must be called from the robot's periodic
     // block in order for anything in the Command-based framework to work.
+    SignalSnapshot.refresh();
+    ChangeLogger.update();
+
     CommandScheduler.getInstance().run();
 
     if (DriverStation.isFMSAttached() && !_fileOnlySet) {
@@ -320,6 +385,13 @@ public class Robot extends TimedRobot {
     DogLog.log("Manipulator Current Piece", _currentPiece);
   }
 
+  @Override
+  public void simulationInit() {
+    // step all mechanism physics in lockstep, kept up with real time
+    SimScheduler.setFrequency(Constants.simUpdateFrequency);
+    SimScheduler.startRealTime();
+  }
+
   @Override
   public void testInit() {
     // Cancels all running commands at the start of test mode.
@@ -330,6 +402,8 @@ public class Robot extends TimedRobot {
   public void close() {
     super.close();
 
+    SimScheduler.stopRealTime();
+
     _swerve.close();
     _wristevator.close();
     _manipulator.close();
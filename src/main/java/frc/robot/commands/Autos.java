@@ -8,8 +8,11 @@ import static edu.wpi.first.wpilibj2.command.Commands.*;
 
 import choreo.auto.AutoFactory;
 import choreo.auto.AutoRoutine;
-import dev.doglog.DogLog;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import frc.robot.subsystems.Swerve;
+import frc.robot.utils.TrajectoryCache;
+import frc.robot.utils.TrajectoryFollower;
 
 public class Autos {
   private final Swerve _swerve;
@@ -19,28 +22,32 @@ public class Autos {
   public Autos(Swerve swerve) {
     _swerve = swerve;
 
+    TrajectoryCache.loadAll();
+
+    // the factory only builds routines, trajectories come from the cache (already flipped) and are
+    // followed and logged by swerve's trajectory follower instead of choreo's auto trajectories
     _factory =
         new AutoFactory(
-            _swerve::getPose,
-            _swerve::resetPose,
-            _swerve::followTrajectory,
-            true,
-            _swerve,
-            (traj, isActive) -> {
-              traj = traj.flipped();
-
-              DogLog.log("Auto/Current Trajectory", traj.getPoses());
-              DogLog.log("Auto/Current Trajectory Name", traj.name());
-              DogLog.log("Auto/Current Trajectory Duration", traj.getTotalTime());
-              DogLog.log("Auto/Current Trajectory Is Active", isActive);
-            });
+            _swerve::getPose, _swerve::resetPose, _swerve::followTrajectory, false, _swerve);
+  }
+
+  // gets a cached trajectory for the current alliance, copied for following
+  private TrajectoryFollower trajectory(String name) {
+    return TrajectoryFollower.fromChoreo(
+        TrajectoryCache.get(
+            name, DriverStation.getAlliance().orElse(Alliance.Blue) == Alliance.Red));
   }
 
   public AutoRoutine simpleTrajectory() {
     var routine = _factory.newRoutine("Simple Trajectory");
-    var trajectory = routine.trajectory("simpleTrajectory");
-
-    routine.active().onTrue(sequence(trajectory.resetOdometry(), trajectory.cmd()));
+    var trajectory = trajectory("simpleTrajectory");
+
+    routine
+        .active()
+        .onTrue(
+            sequence(
+                _swerve.runOnce(() -> _swerve.resetPose(trajectory.getInitialPose())),
+                _swerve.followTrajectory(trajectory)));
 
     return routine;
   }
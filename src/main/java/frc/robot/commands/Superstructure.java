@@ -4,12 +4,17 @@
 
 package frc.robot.commands;
 
+import static edu.wpi.first.units.Units.*;
 import static edu.wpi.first.wpilibj2.command.Commands.*;
 
 import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Constants.WristevatorConstants;
+import frc.robot.Constants.WristevatorConstants.Setpoint;
 import frc.robot.subsystems.Intake;
 import frc.robot.subsystems.Manipulator;
 import frc.robot.subsystems.Serializer;
+import frc.robot.subsystems.Swerve;
+import frc.robot.subsystems.Wristevator;
 
 /**
  * Contains factory methods for commands that involve the whole superstructure of the robot (require
@@ -45,4 +50,31 @@ public class Superstructure {
     return deadline(serializer.intake(), intake.intake().until(serializer::hasCoral).asProxy())
         .withName("Ground Intake");
   }
+
+  /**
+   * Moves the wristevator to a goal so that it arrives as the drivetrain finishes aligning, instead
+   * of starting after. Goals above the safe height also wait until the robot is close to the
+   * alignment pose. Moves right away when not aligning.
+   *
+   * <p>The wristevator holds in place while waiting, so any newer wristevator command cancels the
+   * pending move.
+   */
+  public static Command prepositionWristevator(
+      Swerve swerve, Wristevator wristevator, Setpoint goal) {
+    return wristevator
+        .holdInPlace()
+        .until(
+            () -> {
+              if (!swerve.isAligning()) return true;
+
+              boolean isSafe =
+                  goal.getHeight().lte(WristevatorConstants.prepositionSafeHeight)
+                      || swerve.getAlignDistance()
+                          <= WristevatorConstants.prepositionDistance.in(Meters);
+
+              return isSafe && swerve.getAlignTimeToArrival() <= wristevator.routeTime(goal);
+            })
+        .andThen(wristevator.setGoal(goal))
+        .withName("Preposition Wristevator");
+  }
 }
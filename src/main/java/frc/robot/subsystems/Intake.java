@@ -4,8 +4,6 @@ import static edu.wpi.first.units.Units.*;
 
 import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
-import com.ctre.phoenix6.StatusSignal;
-import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.controls.MotionMagicVoltage;
 import com.ctre.phoenix6.controls.VelocityVoltage;
@@ -15,10 +13,7 @@ import com.ctre.phoenix6.signals.GravityTypeValue;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.math.util.Units;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
 import edu.wpi.first.wpilibj.smartdashboard.Mechanism2d;
@@ -32,6 +27,9 @@ import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.lib.AdvancedSubsystem;
 import frc.lib.CTREUtil;
 import frc.lib.FaultLogger;
+import frc.lib.SignalSnapshot;
+import frc.lib.SignalSnapshot.Signal;
+import frc.lib.SimScheduler;
 import frc.robot.Constants;
 import frc.robot.Constants.IntakeConstants;
 import frc.robot.Robot;
@@ -54,8 +52,10 @@ public class Intake extends AdvancedSubsystem {
   private final VoltageOut _actuatorVoltageSetter = new VoltageOut(0);
   private final VoltageOut _feedVoltageSetter = new VoltageOut(0);
 
-  private final StatusSignal<Angle> _actuatorPositionGetter = _actuatorMotor.getPosition();
-  private final StatusSignal<AngularVelocity> _feedVelocityGetter = _feedMotor.getVelocity();
+  private final Signal _actuatorPositionGetter =
+      SignalSnapshot.register(_actuatorMotor, _actuatorMotor.getPosition());
+  private final Signal _feedVelocityGetter =
+      SignalSnapshot.register(_feedMotor, _feedMotor.getVelocity());
 
   private final SysIdRoutine _actuatorRoutine =
       new SysIdRoutine(
@@ -79,10 +79,6 @@ public class Intake extends AdvancedSubsystem {
 
   private SingleJointedArmSim _actuatorSim;
 
-  private double _lastSimTime;
-
-  private Notifier _simNotifier;
-
   public Intake() {
     setDefaultCommand(stow());
 
@@ -171,53 +167,37 @@ public class Intake extends AdvancedSubsystem {
               false,
               IntakeConstants.actuatorStowed.in(Radians));
 
-      startSimThread();
+      SimScheduler.register(this::updateSim);
     }
   }
 
-  private void startSimThread() {
-    _lastSimTime = Utils.getCurrentTimeSeconds();
-
-    _simNotifier =
-        new Notifier(
-            () -> {
-              final double currentTime = Utils.getCurrentTimeSeconds();
-              final double deltaTime = currentTime - _lastSimTime;
-
-              final double batteryVoltage = RobotController.getBatteryVoltage();
+  private void updateSim(double deltaTime) {
+    final double batteryVoltage = RobotController.getBatteryVoltage();
 
-              var actuatorMotorSimState = _actuatorMotor.getSimState();
+    var actuatorMotorSimState = _actuatorMotor.getSimState();
 
-              actuatorMotorSimState.setSupplyVoltage(batteryVoltage);
+    actuatorMotorSimState.setSupplyVoltage(batteryVoltage);
 
-              _actuatorSim.setInputVoltage(
-                  actuatorMotorSimState.getMotorVoltageMeasure().in(Volts));
+    _actuatorSim.setInputVoltage(actuatorMotorSimState.getMotorVoltageMeasure().in(Volts));
 
-              _actuatorSim.update(deltaTime);
+    _actuatorSim.update(deltaTime);
 
-              actuatorMotorSimState.setRawRotorPosition(
-                  Units.radiansToRotations(
-                      _actuatorSim.getAngleRads() * IntakeConstants.actuatorGearRatio));
+    actuatorMotorSimState.setRawRotorPosition(
+        Units.radiansToRotations(_actuatorSim.getAngleRads() * IntakeConstants.actuatorGearRatio));
 
-              actuatorMotorSimState.setRotorVelocity(
-                  Units.radiansToRotations(
-                      _actuatorSim.getVelocityRadPerSec() * IntakeConstants.actuatorGearRatio));
-
-              _lastSimTime = currentTime;
-            });
-
-    _simNotifier.setName("Intake Sim Thread");
-    _simNotifier.startPeriodic(1 / Constants.simUpdateFrequency.in(Hertz));
+    actuatorMotorSimState.setRotorVelocity(
+        Units.radiansToRotations(
+            _actuatorSim.getVelocityRadPerSec() * IntakeConstants.actuatorGearRatio));
   }
 
   @Logged(name = "Angle")
   public double getAngle() {
-    return _actuatorPositionGetter.refresh().getValue().in(Radians);
+    return Units.rotationsToRadians(_actuatorPositionGetter.getValue());
   }
 
   @Logged(name = "Speed")
   public double getSpeed() {
-    return _feedVelocityGetter.refresh().getValue().in(RadiansPerSecond);
+    return Units.rotationsToRadians(_feedVelocityGetter.getValue());
   }
 
   // set the actuator angle and feed speed.
@@ -277,7 +257,5 @@ public class Intake extends AdvancedSubsystem {
   public void close() {
     _actuatorMotor.close();
     _feedMotor.close();
-
-    _simNotifier.close();
   }
 }
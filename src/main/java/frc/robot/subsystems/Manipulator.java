@@ -5,8 +5,6 @@ import static frc.robot.Robot.*;
 
 import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
-import com.ctre.phoenix6.StatusSignal;
-import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.controls.VelocityVoltage;
 import com.ctre.phoenix6.controls.VoltageOut;
@@ -18,10 +16,8 @@ import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.math.system.plant.LinearSystemId;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.networktables.BooleanEntry;
-import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DigitalInput;
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.event.BooleanEvent;
 import edu.wpi.first.wpilibj.simulation.DIOSim;
@@ -33,7 +29,12 @@ import edu.wpi.first.wpilibj2.command.button.Trigger;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.lib.AdvancedSubsystem;
 import frc.lib.CTREUtil;
+import frc.lib.ChangeLogger.BooleanLog;
+import frc.lib.ChangeLogger.DoubleLog;
 import frc.lib.FaultLogger;
+import frc.lib.SignalSnapshot;
+import frc.lib.SignalSnapshot.Signal;
+import frc.lib.SimScheduler;
 import frc.lib.Tuning;
 import frc.robot.Constants;
 import frc.robot.Constants.ManipulatorConstants;
@@ -62,17 +63,13 @@ public class Manipulator extends AdvancedSubsystem {
 
   private FlywheelSim _leftFlywheelSim;
 
-  private Notifier _simNotifier;
-
-  private double _lastSimTime;
-
-  @Logged(name = "Desired Speed")
   private double _desiredSpeed;
 
   private final VelocityVoltage _feedVelocitySetter = new VelocityVoltage(0);
   private final VoltageOut _feedVoltageSetter = new VoltageOut(0);
 
-  private final StatusSignal<AngularVelocity> _feedVelocityGetter = _leftMotor.getVelocity();
+  private final Signal _feedVelocityGetter =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getVelocity());
 
   private final SysIdRoutine _leftRoutine =
       new SysIdRoutine(
@@ -100,9 +97,13 @@ public class Manipulator extends AdvancedSubsystem {
   private BooleanEntry _coralBeamSimValue;
   private BooleanEntry _algaeBeamSimValue;
 
-  @Logged(name = "Is Fast Feed")
   private boolean _isFastFeed = false;
 
+  private final DoubleLog _desiredSpeedLog = new DoubleLog(getName() + "/Desired Speed");
+  private final BooleanLog _isFastFeedLog = new BooleanLog(getName() + "/Is Fast Feed");
+  private final BooleanLog _coralBeamLog = new BooleanLog(getName() + "/Coral Beam");
+  private final BooleanLog _algaeBeamLog = new BooleanLog(getName() + "/Algae Beam");
+
   public Manipulator(Consumer<Piece> currentPieceSetter) {
     setDefaultCommand(idle());
 
@@ -180,7 +181,7 @@ public class Manipulator extends AdvancedSubsystem {
                   DCMotor.getKrakenX60(1), 0.001, ManipulatorConstants.flywheelGearRatio),
               DCMotor.getKrakenX60(2));
 
-      startSimThread();
+      SimScheduler.register(this::updateSim);
     }
   }
 
@@ -191,34 +192,19 @@ public class Manipulator extends AdvancedSubsystem {
     NONE
   }
 
-  private void startSimThread() {
-    _lastSimTime = Utils.getCurrentTimeSeconds();
-
-    _simNotifier =
-        new Notifier(
-            () -> {
-              final double currentTime = Utils.getCurrentTimeSeconds();
-              final double deltaTime = currentTime - _lastSimTime;
-
-              final double batteryVoltage = RobotController.getBatteryVoltage();
+  private void updateSim(double deltaTime) {
+    final double batteryVoltage = RobotController.getBatteryVoltage();
 
-              var leftMotorSimState = _leftMotor.getSimState();
+    var leftMotorSimState = _leftMotor.getSimState();
 
-              leftMotorSimState.setSupplyVoltage(batteryVoltage);
+    leftMotorSimState.setSupplyVoltage(batteryVoltage);
 
-              _leftFlywheelSim.setInputVoltage(
-                  leftMotorSimState.getMotorVoltageMeasure().in(Volts));
-              _leftFlywheelSim.update(deltaTime);
+    _leftFlywheelSim.setInputVoltage(leftMotorSimState.getMotorVoltageMeasure().in(Volts));
+    _leftFlywheelSim.update(deltaTime);
 
-              leftMotorSimState.setRotorVelocity(
-                  _leftFlywheelSim.getAngularVelocity().in(RotationsPerSecond)
-                      * ManipulatorConstants.flywheelGearRatio);
-
-              _lastSimTime = currentTime;
-            });
-
-    _simNotifier.setName("Manipulator Sim Thread");
-    _simNotifier.startPeriodic(1 / Constants.simUpdateFrequency.in(Hertz));
+    leftMotorSimState.setRotorVelocity(
+        _leftFlywheelSim.getAngularVelocity().in(RotationsPerSecond)
+            * ManipulatorConstants.flywheelGearRatio);
   }
 
   private void setFlywheelVoltage(double volts, TalonFX motor) {
@@ -229,19 +215,17 @@ public class Manipulator extends AdvancedSubsystem {
     _isFastFeed = isFast;
   }
 
-  @Logged(name = "Coral Beam")
   public boolean getCoralBeam() {
     return !_coralBeam.get();
   }
 
-  @Logged(name = "Algae Beam")
   public boolean getAlgaeBeam() {
     return !_algaeBeam.get();
   }
 
   @Logged(name = "Speed")
   public double getSpeed() {
-    return _feedVelocityGetter.refresh().getValue().in(RadiansPerSecond);
+    return Units.rotationsToRadians(_feedVelocityGetter.getValue());
   }
 
   // set the speed of the back feed wheels in rad/s
@@ -347,6 +331,11 @@ public class Manipulator extends AdvancedSubsystem {
   @Override
   public void periodic() {
     super.periodic();
+
+    _desiredSpeedLog.log(_desiredSpeed);
+    _isFastFeedLog.log(_isFastFeed);
+    _coralBeamLog.log(getCoralBeam());
+    _algaeBeamLog.log(getAlgaeBeam());
   }
 
   @Override
@@ -365,8 +354,6 @@ public class Manipulator extends AdvancedSubsystem {
     _leftMotor.close();
     _rightMotor.close();
 
-    _simNotifier.close();
-
     _coralBeamSimValue.close();
     _algaeBeamSimValue.close();
   }
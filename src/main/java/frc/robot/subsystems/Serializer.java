@@ -4,7 +4,6 @@ import static edu.wpi.first.units.Units.*;
 
 import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
-import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.controls.VelocityVoltage;
 import com.ctre.phoenix6.controls.VoltageOut;
@@ -13,7 +12,6 @@ import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.networktables.BooleanEntry;
-import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DigitalInput;
 import edu.wpi.first.wpilibj.simulation.DIOSim;
@@ -22,7 +20,11 @@ import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.lib.AdvancedSubsystem;
 import frc.lib.CTREUtil;
+import frc.lib.ChangeLogger.BooleanLog;
+import frc.lib.ChangeLogger.DoubleLog;
 import frc.lib.FaultLogger;
+import frc.lib.SignalSnapshot;
+import frc.lib.SignalSnapshot.Signal;
 import frc.lib.Tuning;
 import frc.robot.Constants;
 import frc.robot.Constants.SerializerConstants;
@@ -41,16 +43,20 @@ public class Serializer extends AdvancedSubsystem {
   private BooleanEntry _frontBeamSimValue;
   private BooleanEntry _backBeamSimValue;
 
-  @Logged(name = "Desired Speed")
   private double _desiredSpeed;
 
+  private final DoubleLog _desiredSpeedLog = new DoubleLog(getName() + "/Desired Speed");
+  private final BooleanLog _frontBeamLog = new BooleanLog(getName() + "/Front Beam");
+  private final BooleanLog _backBeamLog = new BooleanLog(getName() + "/Back Beam");
+
   private final BooleanEntry _backBeamFake = Tuning.entry("Tuning/Back Beam", false);
 
   private final TalonFX _feedMotor =
       new TalonFX(SerializerConstants.feedMotorId, Constants.canivore);
 
   private final VelocityVoltage _feedVelocitySetter = new VelocityVoltage(0);
-  private final StatusSignal<AngularVelocity> _feedVelocityGetter = _feedMotor.getVelocity();
+  private final Signal _feedVelocityGetter =
+      SignalSnapshot.register(_feedMotor, _feedMotor.getVelocity());
 
   private final VoltageOut _feedVoltageSetter = new VoltageOut(0);
 
@@ -114,7 +120,7 @@ public class Serializer extends AdvancedSubsystem {
 
   @Logged(name = "Speed")
   public double getSpeed() {
-    return _feedVelocityGetter.refresh().getValue().in(RadiansPerSecond);
+    return Units.rotationsToRadians(_feedVelocityGetter.getValue());
   }
 
   // Set the speed of the front feed wheels in rad/s.
@@ -136,12 +142,10 @@ public class Serializer extends AdvancedSubsystem {
     return getFrontBeam() || getBackBeam();
   }
 
-  @Logged(name = "Front Beam")
   public boolean getFrontBeam() {
     return !_frontBeam.get();
   }
 
-  @Logged(name = "Back Beam")
   public boolean getBackBeam() {
     // return false;
     return _backBeamFake.get();
@@ -183,6 +187,10 @@ public class Serializer extends AdvancedSubsystem {
   @Override
   public void periodic() {
     super.periodic();
+
+    _desiredSpeedLog.log(_desiredSpeed);
+    _frontBeamLog.log(getFrontBeam());
+    _backBeamLog.log(getBackBeam());
   }
 
   @Override
@@ -8,10 +8,13 @@ import static edu.wpi.first.units.Units.*;
 import static edu.wpi.first.wpilibj2.command.Commands.sequence;
 
 import choreo.trajectory.SwerveSample;
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.hardware.CANcoder;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 import com.ctre.phoenix6.swerve.SwerveDrivetrainConstants;
 import com.ctre.phoenix6.swerve.SwerveModule;
 import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
@@ -20,6 +23,7 @@ import com.ctre.phoenix6.swerve.SwerveRequest.*;
 import dev.doglog.DogLog;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.epilogue.Logged.Strategy;
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.VecBuilder;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Pose3d;
@@ -27,25 +31,30 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
-import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
-import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.LinearAcceleration;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.event.BooleanEvent;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
+import frc.lib.CTREUtil;
+import frc.lib.ChangeLogger.BooleanLog;
+import frc.lib.ChangeLogger.StringLog;
 import frc.lib.FaultLogger;
 import frc.lib.FaultsTable;
 import frc.lib.FaultsTable.Fault;
 import frc.lib.FaultsTable.FaultType;
 import frc.lib.InputStream;
+import frc.lib.InputStream2d;
 import frc.lib.SelfChecked;
-import frc.robot.Constants;
+import frc.lib.SimScheduler;
 import frc.robot.Constants.FieldConstants;
 import frc.robot.Constants.SwerveConstants;
 import frc.robot.Constants.VisionConstants;
@@ -53,8 +62,14 @@ import frc.robot.Robot;
 import frc.robot.generated.TunerConstants.TunerSwerveDrivetrain;
 import frc.robot.utils.AlignPoses;
 import frc.robot.utils.AlignPoses.AlignSide;
+import frc.robot.utils.AlignTrajectoryGenerator;
 import frc.robot.utils.HolonomicController;
+import frc.robot.utils.NavGrid;
+import frc.robot.utils.SlipDetector;
+import frc.robot.utils.SwerveSetpointGenerator;
 import frc.robot.utils.SysId;
+import frc.robot.utils.TrackingErrorStats;
+import frc.robot.utils.TrajectoryFollower;
 import frc.robot.utils.VisionPoseEstimator;
 import frc.robot.utils.VisionPoseEstimator.SingleTagEstimate;
 import frc.robot.utils.VisionPoseEstimator.VisionPoseEstimate;
@@ -140,21 +155,19 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
               null,
               this));
 
-  private double _lastSimTime = 0;
-  private Notifier _simNotifier;
-
   @Logged(name = "Driver Chassis Speeds")
   private final ChassisSpeeds _driverChassisSpeeds = new ChassisSpeeds();
 
-  @Logged(name = "Is Field Oriented")
   private boolean _isFieldOriented = true;
-
-  @Logged(name = "Is Open Loop")
   private boolean _isOpenLoop = true;
-
-  @Logged(name = "Ignore Vision Estimates")
   private boolean _ignoreVisionEstimates = true; // for sim for now
 
+  private final StringLog _currentCommandLog = new StringLog("Swerve/Current Command");
+  private final BooleanLog _isFieldOrientedLog = new BooleanLog("Swerve/Is Field Oriented");
+  private final BooleanLog _isOpenLoopLog = new BooleanLog("Swerve/Is Open Loop");
+  private final BooleanLog _ignoreVisionEstimatesLog =
+      new BooleanLog("Swerve/Ignore Vision Estimates");
+
   private boolean _prevIgnoreVisionEstimates = _ignoreVisionEstimates;
 
   private BooleanEvent _ignoreVisionEstimatesEvent =
@@ -166,12 +179,66 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
 
   private AlignPoses _alignGoal = new AlignPoses(Pose2d.kZero);
 
+  // the pose being aligned to, null when not aligning
+  private Pose2d _alignPose = null;
+
   private SingleTagEstimate _alignEstimate = null;
 
   private Transform2d _alignOdomCompensation = null;
 
   private HolonomicController _poseController = new HolonomicController();
 
+  // re-used output of the pose controller
+  private final ChassisSpeeds _poseControllerSpeeds = new ChassisSpeeds();
+
+  private final SwerveSetpointGenerator _setpointGenerator;
+
+  // re-used output of the setpoint generator
+  private final ChassisSpeeds _setpointSpeeds = new ChassisSpeeds();
+
+  private double _lastSetpointTime = 0;
+
+  // dummy samples run so far to warm up trajectory following
+  private int _warmUpIterations = 0;
+
+  // the trajectory currently being followed and the time since it started, null if none
+  private TrajectoryFollower _activeTrajectory = null;
+  private Timer _activeTrajectoryTimer = null;
+
+  @Logged(name = "Trajectory Translation Error")
+  private double _trajectoryTranslationError = 0;
+
+  @Logged(name = "Trajectory Heading Error")
+  private double _trajectoryHeadingError = 0;
+
+  // tracking error of the current (or last) trajectory
+  private final TrackingErrorStats _trajectoryStats = new TrackingErrorStats();
+
+  private final SlipDetector _slipDetector;
+
+  private final StatusSignal<LinearAcceleration> _accelerationX;
+  private final StatusSignal<LinearAcceleration> _accelerationY;
+
+  private final List<StatusSignal<Current>> _driveCurrents = new ArrayList<>();
+
+  private final BaseStatusSignal[] _slipSignals;
+
+  private final double[] _driveCurrentValues;
+
+  // the collision that the pose was last reset to vision for
+  private double _lastCollisionReset = Double.NEGATIVE_INFINITY;
+
+  private final NavGrid _navGrid = NavGrid.buildFromConstants();
+
+  private final AlignTrajectoryGenerator _alignTrajectoryGenerator =
+      new AlignTrajectoryGenerator(
+          SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond),
+          SwerveConstants.maxTranslationalAcceleration.in(MetersPerSecondPerSecond),
+          SwerveConstants.maxAngularSpeed.in(RadiansPerSecond),
+          SwerveConstants.maxAngularAcceleration.in(RadiansPerSecondPerSecond),
+          SwerveConstants.alignTrajectorySamples,
+          getModules().length);
+
   private boolean _hasAppliedDriverPerspective;
 
   @Logged(name = VisionConstants.lowerLeftArducamName)
@@ -231,6 +298,37 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     // closed loop vel always in auto
     _fieldSpeedsRequest.withDriveRequestType(DriveRequestType.Velocity);
 
+    _slipDetector =
+        new SlipDetector(
+            getModuleLocations(),
+            SwerveConstants.slipResidualThreshold.in(MetersPerSecond),
+            SwerveConstants.slipStallCurrent.in(Amps),
+            SwerveConstants.slipStallSpeed.in(MetersPerSecond),
+            SwerveConstants.slipStallTime.in(Seconds),
+            SwerveConstants.collisionAcceleration.in(Gs));
+
+    _accelerationX = getPigeon2().getAccelerationX(false);
+    _accelerationY = getPigeon2().getAccelerationY(false);
+
+    for (var module : getModules()) {
+      _driveCurrents.add(module.getDriveMotor().getStatorCurrent(false));
+    }
+
+    _slipSignals = new BaseStatusSignal[_driveCurrents.size() + 2];
+
+    _slipSignals[0] = _accelerationX;
+    _slipSignals[1] = _accelerationY;
+
+    for (int i = 0; i < _driveCurrents.size(); i++) {
+      _slipSignals[i + 2] = _driveCurrents.get(i);
+    }
+
+    _driveCurrentValues = new double[_driveCurrents.size()];
+
+    CTREUtil.attempt(
+        () -> BaseStatusSignal.setUpdateFrequencyForAll(100, _accelerationX, _accelerationY),
+        getPigeon2());
+
     registerTelemetry(
         state -> {
           DogLog.log("Swerve/Pose", state.Pose);
@@ -245,9 +343,20 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
 
           DogLog.log("Swerve/Odometry Success %", state.SuccessfulDaqs / totalDaqs * 100);
           DogLog.log("Swerve/Odometry Period", state.OdometryPeriod);
+
+          updateSlipDetector(state);
         });
 
     _poseController.setTolerance(Meters.of(0.1), Rotation2d.fromDegrees(0));
+    _poseController.setTrajectoryGains(
+        SwerveConstants.trajectoryTranslationkP, SwerveConstants.trajectoryHeadingkP);
+
+    _setpointGenerator =
+        new SwerveSetpointGenerator(
+            getModuleLocations(),
+            SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond),
+            SwerveConstants.maxTranslationalAcceleration.in(MetersPerSecondPerSecond),
+            SwerveConstants.maxSteerVelocity.in(RadiansPerSecond));
 
     // display all sysid routines
     SysId.displayRoutine("Swerve Translation", _sysIdRoutineTranslation);
@@ -260,7 +369,7 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     _ignoreVisionEstimatesEvent.falling().ifHigh(() -> _prevIgnoreVisionEstimates = true);
 
     if (Robot.isSimulation()) {
-      startSimThread();
+      SimScheduler.register(this::updateSim);
 
       _visionSystemSim = new VisionSystemSim("Vision System Sim");
       _visionSystemSim.addAprilTags(FieldConstants.tagLayout);
@@ -297,7 +406,6 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
    * Returns the name of the command that's currently requiring this subsystem. Is "None" when the
    * command in null.
    */
-  @Logged(name = "Current Command")
   public final String currentCommandName() {
     if (getCurrentCommand() != null) {
       return getCurrentCommand().getName();
@@ -359,23 +467,8 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     FaultLogger.register(getPigeon2());
   }
 
-  private void startSimThread() {
-    _lastSimTime = Utils.getCurrentTimeSeconds();
-
-    // Run simulation at a faster rate so PID gains behave more reasonably
-    _simNotifier =
-        new Notifier(
-            () -> {
-              final double currentTime = Utils.getCurrentTimeSeconds();
-              double deltaTime = currentTime - _lastSimTime;
-              _lastSimTime = currentTime;
-
-              // use the measured time delta, get battery voltage from WPILib
-              updateSimState(deltaTime, RobotController.getBatteryVoltage());
-            });
-
-    _simNotifier.setName("Swerve Sim Thread");
-    _simNotifier.startPeriodic(1 / Constants.simUpdateFrequency.in(Hertz));
+  private void updateSim(double deltaTime) {
+    updateSimState(deltaTime, RobotController.getBatteryVoltage());
   }
 
   /** Toggles the field oriented boolean. */
@@ -406,6 +499,21 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
         });
   }
 
+  /**
+   * Drives the swerve with a translation sampled once per loop.
+   *
+   * @param translation The translation velocity in meters per second.
+   * @param velOmega The rotational velocity in radians per second.
+   */
+  public Command drive(InputStream2d translation, InputStream velOmega) {
+    return run(() -> {
+          translation.sample();
+
+          drive(translation.getX(), translation.getY(), velOmega.get());
+        })
+        .withName("Drive");
+  }
+
   /**
    * Creates a new Command that drives the chassis.
    *
@@ -433,25 +541,17 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     _driverChassisSpeeds.vyMetersPerSecond = velY;
     _driverChassisSpeeds.omegaRadiansPerSecond = velOmega;
 
-    // go through a couple of steps to ensure that input speeds are actually achievable
-    ChassisSpeeds tempSpeeds = _driverChassisSpeeds;
-    SwerveModuleState[] tempStates;
-
-    // TODO: this might be too many memory allocations
-
-    if (_isFieldOriented)
-      tempSpeeds = ChassisSpeeds.fromFieldRelativeSpeeds(tempSpeeds, getHeading());
+    // limit the input speeds to what the modules can actually achieve
+    ChassisSpeeds speeds =
+        limitSetpoint(
+            _driverChassisSpeeds,
+            _isFieldOriented
+                ? getHeading().minus(getOperatorForwardDirection())
+                : Rotation2d.kZero);
 
-    tempStates = getKinematics().toSwerveModuleStates(tempSpeeds);
-    SwerveDriveKinematics.desaturateWheelSpeeds(tempStates, SwerveConstants.maxTranslationalSpeed);
-    tempSpeeds = getKinematics().toChassisSpeeds(tempStates);
-
-    if (_isFieldOriented)
-      tempSpeeds = ChassisSpeeds.fromRobotRelativeSpeeds(tempSpeeds, getHeading());
-
-    velX = tempSpeeds.vxMetersPerSecond;
-    velY = tempSpeeds.vyMetersPerSecond;
-    velOmega = tempSpeeds.omegaRadiansPerSecond;
+    velX = speeds.vxMetersPerSecond;
+    velY = speeds.vyMetersPerSecond;
+    velOmega = speeds.omegaRadiansPerSecond;
 
     if (_isFieldOriented) {
       setControl(
@@ -472,24 +572,227 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     }
   }
 
+  /**
+   * Limits some desired speeds to the next feasible setpoint of the modules. The setpoint generator
+   * is re-seeded from the measured drive state if it wasn't used in the previous loop.
+   *
+   * @param speeds The desired speeds, in a frame rotated by some angle from the robot.
+   * @param robotAngle The angle of the robot in the frame of the desired speeds.
+   * @return The limited speeds in the same frame as the desired speeds. This object is re-used.
+   */
+  private ChassisSpeeds limitSetpoint(ChassisSpeeds speeds, Rotation2d robotAngle) {
+    double cos = robotAngle.getCos();
+    double sin = robotAngle.getSin();
+
+    // rotate into the robot frame
+    _setpointSpeeds.vxMetersPerSecond =
+        speeds.vxMetersPerSecond * cos + speeds.vyMetersPerSecond * sin;
+    _setpointSpeeds.vyMetersPerSecond =
+        -speeds.vxMetersPerSecond * sin + speeds.vyMetersPerSecond * cos;
+    _setpointSpeeds.omegaRadiansPerSecond = speeds.omegaRadiansPerSecond;
+
+    double now = Timer.getFPGATimestamp();
+
+    if (now - _lastSetpointTime > 2 * Robot.kDefaultPeriod)
+      _setpointGenerator.reset(getChassisSpeeds(), getState().ModuleStates);
+
+    _lastSetpointTime = now;
+
+    _setpointGenerator.generate(_setpointSpeeds, Robot.kDefaultPeriod, _setpointSpeeds);
+
+    // rotate back into the original frame
+    double vx = _setpointSpeeds.vxMetersPerSecond;
+    double vy = _setpointSpeeds.vyMetersPerSecond;
+
+    _setpointSpeeds.vxMetersPerSecond = vx * cos - vy * sin;
+    _setpointSpeeds.vyMetersPerSecond = vx * sin + vy * cos;
+
+    return _setpointSpeeds;
+  }
+
   /**
    * Sets the chassis state to the given {@link SwerveSample} to aid trajectory following.
    *
    * @param sample The SwerveSample.
    */
   public void followTrajectory(SwerveSample sample) {
-    var desiredSpeeds = sample.getChassisSpeeds();
-    var desiredPose = sample.getPose();
-
-    desiredSpeeds = _poseController.calculate(desiredSpeeds, desiredPose, getPose());
-
     setControl(
         _fieldSpeedsRequest
-            .withSpeeds(desiredSpeeds)
+            .withSpeeds(
+                calculateTrajectorySpeeds(
+                    sample.x,
+                    sample.y,
+                    sample.heading,
+                    sample.vx,
+                    sample.vy,
+                    sample.omega,
+                    getPose()))
             .withWheelForceFeedforwardsX(sample.moduleForcesX())
             .withWheelForceFeedforwardsY(sample.moduleForcesY()));
   }
 
+  /**
+   * Follows a trajectory from start to end. Unlike following choreo's samples, this samples the
+   * trajectory in place and doesn't allocate every cycle.
+   *
+   * @param trajectory The trajectory to follow.
+   */
+  public Command followTrajectory(TrajectoryFollower trajectory) {
+    return followTrajectory(trajectory, this::getPose);
+  }
+
+  /** Follows a trajectory from start to end. */
+  private Command followTrajectory(TrajectoryFollower trajectory, Supplier<Pose2d> robotPose) {
+    Timer timer = new Timer();
+
+    return run(() -> {
+          trajectory.sample(timer.get());
+
+          followTrajectorySample(trajectory, robotPose.get());
+        })
+        .beforeStarting(
+            () -> {
+              trajectory.reset();
+              timer.restart();
+
+              _activeTrajectory = trajectory;
+              _activeTrajectoryTimer = timer;
+
+              _trajectoryStats.reset();
+
+              DogLog.log("Auto/Current Trajectory", trajectory.getPoses());
+              DogLog.log("Auto/Current Trajectory Name", trajectory.getName());
+              DogLog.log("Auto/Current Trajectory Duration", trajectory.getTotalTime());
+              DogLog.log("Auto/Current Trajectory Is Active", true);
+            })
+        .until(() -> timer.hasElapsed(trajectory.getTotalTime()))
+        .finallyDo(
+            interrupted -> {
+              // hold the end of the trajectory, which should have no velocity
+              if (!interrupted) {
+                trajectory.sample(trajectory.getTotalTime());
+
+                followTrajectorySample(trajectory, robotPose.get());
+              }
+
+              _activeTrajectory = null;
+              _activeTrajectoryTimer = null;
+
+              DogLog.log("Auto/Current Trajectory Is Active", false);
+
+              DogLog.log("Auto/Trajectory Translation RMS", _trajectoryStats.getTranslationRms());
+              DogLog.log("Auto/Trajectory Translation Max", _trajectoryStats.getTranslationMax());
+              DogLog.log("Auto/Trajectory Heading RMS", _trajectoryStats.getHeadingRms());
+              DogLog.log("Auto/Trajectory Heading Max", _trajectoryStats.getHeadingMax());
+              DogLog.log("Auto/Trajectory Lag", _trajectoryStats.getLag());
+            })
+        .withName("Follow Trajectory");
+  }
+
+  // follows the last sample of a trajectory follower
+  private void followTrajectorySample(TrajectoryFollower trajectory, Pose2d robotPose) {
+    _trajectoryTranslationError =
+        Math.hypot(trajectory.getX() - robotPose.getX(), trajectory.getY() - robotPose.getY());
+    _trajectoryHeadingError =
+        Math.abs(
+            MathUtil.angleModulus(trajectory.getHeading() - robotPose.getRotation().getRadians()));
+
+    _trajectoryStats.add(
+        trajectory.getX(),
+        trajectory.getY(),
+        trajectory.getHeading(),
+        trajectory.getVx(),
+        trajectory.getVy(),
+        robotPose.getX(),
+        robotPose.getY(),
+        robotPose.getRotation().getRadians());
+
+    setControl(
+        _fieldSpeedsRequest
+            .withSpeeds(
+                calculateTrajectorySpeeds(
+                    trajectory.getX(),
+                    trajectory.getY(),
+                    trajectory.getHeading(),
+                    trajectory.getVx(),
+                    trajectory.getVy(),
+                    trajectory.getOmega(),
+                    robotPose))
+            .withWheelForceFeedforwardsX(trajectory.getModuleForcesX())
+            .withWheelForceFeedforwardsY(trajectory.getModuleForcesY()));
+  }
+
+  // the limited field-relative speeds that follow a trajectory sample
+  private ChassisSpeeds calculateTrajectorySpeeds(
+      double x, double y, double heading, double vx, double vy, double omega, Pose2d robotPose) {
+    _poseControllerSpeeds.vxMetersPerSecond = vx;
+    _poseControllerSpeeds.vyMetersPerSecond = vy;
+    _poseControllerSpeeds.omegaRadiansPerSecond = omega;
+
+    _poseController.calculate(
+        _poseControllerSpeeds, x, y, heading, robotPose, _poseControllerSpeeds);
+
+    return limitSetpoint(_poseControllerSpeeds, getHeading());
+  }
+
+  /**
+   * Runs the trajectory following and pose controller code with dummy samples, so that it is
+   * already compiled by the JIT once auto starts. The samples are spread over several loops so no
+   * single loop overruns. This doesn't command the drive or log the dummy poses, and only runs
+   * until all samples are done.
+   */
+  public Command warmUp() {
+    double[] moduleForces = new double[getModules().length];
+
+    return Commands.run(
+            () -> {
+              Pose2d pose = getPose();
+
+              _poseController.setLoggingEnabled(false);
+
+              int end =
+                  Math.min(
+                      _warmUpIterations + SwerveConstants.warmUpIterationsPerLoop,
+                      SwerveConstants.warmUpIterations);
+
+              for (; _warmUpIterations < end; _warmUpIterations++) {
+                double t = _warmUpIterations * Robot.kDefaultPeriod;
+
+                // a small circle around the current pose
+                var sample =
+                    new SwerveSample(
+                        t,
+                        pose.getX() + 0.1 * Math.cos(t),
+                        pose.getY() + 0.1 * Math.sin(t),
+                        t,
+                        -0.1 * Math.sin(t),
+                        0.1 * Math.cos(t),
+                        1,
+                        -0.1 * Math.cos(t),
+                        -0.1 * Math.sin(t),
+                        0,
+                        moduleForces,
+                        moduleForces);
+
+                calculateTrajectorySpeeds(
+                    sample.x, sample.y, sample.heading, sample.vx, sample.vy, sample.omega, pose);
+
+                _poseController.calculate(pose, sample.getPose(), _poseControllerSpeeds);
+              }
+
+              _poseController.setLoggingEnabled(true);
+            })
+        .until(() -> _warmUpIterations >= SwerveConstants.warmUpIterations)
+        .finallyDo(
+            () -> {
+              // make sure the setpoint generator is re-seeded from the real state
+              _lastSetpointTime = 0;
+            })
+        .onlyIf(() -> _warmUpIterations < SwerveConstants.warmUpIterations)
+        .ignoringDisable(true)
+        .withName("Warm Up");
+  }
+
   /** Aligns to a {@link AlignPoses} to the correct side. */
   public Command alignTo(AlignPoses alignGoal, AlignSide side) {
     return alignTo(alignGoal, side, false);
@@ -564,6 +867,8 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
                   alliance == Alliance.Blue
                       ? _alignTag
                       : FieldConstants.tagCorrespondences.get(_alignTag);
+
+              _alignPose = _alignGoal.getPose(side);
             })
         .andThen(
             defer(
@@ -575,7 +880,8 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
                         // distance
                         // or if that doesn't happen, it's until the robot is close to the alignment
                         // pose
-                        driveTo(
+                        // the path goes around any field obstacles in the way
+                        pathfindTo(
                                 startReversed
                                     ? _alignGoal
                                         .transform(Translation2d.kZero, Rotation2d.k180deg)
@@ -594,7 +900,8 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
                         // then, drive towards the goal pose (not reversed) using the alignment
                         // estimate
                         // or the global pose estimate if the alignment tag was never seen
-                        driveTo(
+                        // speed is carried into this approach along a generated trajectory
+                        driveAlongTrajectoryTo(
                             _alignGoal.getPose(side),
                             () -> {
                               if (_alignEstimate == null) return getPose();
@@ -605,11 +912,80 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
                                   .transformBy(_alignOdomCompensation);
                             }))))
         .finallyDo(
-            () -> _alignTag = -1 // clear alignment tag
-            )
+            () -> {
+              _alignTag = -1; // clear alignment tag
+              _alignPose = null;
+            })
         .withName("Align To");
   }
 
+  /** Drives the robot to some given goal pose around obstacles. Uses the global pose estimate. */
+  public Command pathfindTo(Pose2d goalPose) {
+    return pathfindTo(goalPose, this::getPose);
+  }
+
+  /**
+   * Drives the robot to some given goal pose around field obstacles. The path is found when the
+   * command is scheduled, and is followed as one trajectory through its waypoints, so that speed is
+   * carried through each corner instead of stopping at it. Finishes with {@link #driveTo(Pose2d,
+   * Supplier)} to settle within tolerance. If no trajectory clear of the obstacles is found, the
+   * path is driven as straight line segments between its waypoints instead.
+   */
+  private Command pathfindTo(Pose2d goalPose, Supplier<Pose2d> robotPose) {
+    return defer(
+            () -> {
+              Pose2d pose = robotPose.get();
+
+              List<Translation2d> waypoints =
+                  _navGrid.findPath(pose.getTranslation(), goalPose.getTranslation());
+
+              DogLog.log("Auto/Path Waypoints", waypoints.toArray(Translation2d[]::new));
+
+              // the last waypoint is always the goal
+              TrajectoryFollower trajectory =
+                  _alignTrajectoryGenerator.generate(
+                      pose,
+                      ChassisSpeeds.fromRobotRelativeSpeeds(getChassisSpeeds(), getHeading()),
+                      waypoints.subList(0, waypoints.size() - 1),
+                      goalPose,
+                      _navGrid);
+
+              DogLog.log("Auto/Path Is Straight", trajectory == null);
+
+              if (trajectory != null) return followTrajectory(trajectory, robotPose);
+
+              List<Command> legs = new ArrayList<>();
+
+              // stop at each waypoint so the straight legs aren't cut short
+              for (int i = 0; i < waypoints.size() - 1; i++) {
+                legs.add(driveTo(new Pose2d(waypoints.get(i), goalPose.getRotation()), robotPose));
+              }
+
+              return sequence(legs.toArray(Command[]::new));
+            })
+        .andThen(driveTo(goalPose, robotPose))
+        .withName("Pathfind To");
+  }
+
+  /**
+   * Drives the robot to some given goal pose along a trajectory generated from the current pose and
+   * speeds, so that speed is carried through the approach instead of profiled from the current
+   * speed along a straight line. The trajectory is generated when the command is scheduled, and
+   * finishes with {@link #driveTo(Pose2d, Supplier)} to settle within tolerance.
+   */
+  private Command driveAlongTrajectoryTo(Pose2d goalPose, Supplier<Pose2d> robotPose) {
+    return defer(
+            () ->
+                followTrajectory(
+                    _alignTrajectoryGenerator.generate(
+                        robotPose.get(),
+                        ChassisSpeeds.fromRobotRelativeSpeeds(getChassisSpeeds(), getHeading()),
+                        goalPose),
+                    robotPose))
+        .andThen(driveTo(goalPose, robotPose))
+        .withName("Drive Along Trajectory To");
+  }
+
   /** Drives the robot in a straight line to some given goal pose. Uses the global pose estimate. */
   public Command driveTo(Pose2d goalPose) {
     return driveTo(goalPose, this::getPose);
@@ -618,9 +994,10 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
   /** Drives the robot in a straight line to some given goal pose. */
   private Command driveTo(Pose2d goalPose, Supplier<Pose2d> robotPose) {
     return run(() -> {
-          ChassisSpeeds speeds = _poseController.calculate(robotPose.get(), goalPose);
+          _poseController.calculate(robotPose.get(), goalPose, _poseControllerSpeeds);
 
-          setControl(_fieldSpeedsRequest.withSpeeds(speeds));
+          setControl(
+              _fieldSpeedsRequest.withSpeeds(limitSetpoint(_poseControllerSpeeds, getHeading())));
         })
         .beforeStarting(
             () ->
@@ -632,6 +1009,69 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
         .withName("Drive To");
   }
 
+  /** Whether the robot is currently aligning. */
+  public boolean isAligning() {
+    return _alignPose != null;
+  }
+
+  /**
+   * Estimates the time until the current alignment finishes. While a trajectory is being followed
+   * this is its remaining time plus time to settle at its end, since the trajectory can go around
+   * obstacles. Otherwise the alignment is in its final straight line, and it's estimated from the
+   * pose controller's translation profile.
+   *
+   * @return The time in seconds, infinite if not aligning.
+   */
+  public double getAlignTimeToArrival() {
+    if (_alignPose == null) return Double.POSITIVE_INFINITY;
+
+    if (_activeTrajectory != null) {
+      return Math.max(0, _activeTrajectory.getTotalTime() - _activeTrajectoryTimer.get())
+          + SwerveConstants.alignSettleTime.in(Seconds);
+    }
+
+    return _poseController.timeToGoal(
+        getPose(),
+        _alignPose,
+        ChassisSpeeds.fromRobotRelativeSpeeds(getChassisSpeeds(), getHeading()));
+  }
+
+  /** The distance to the pose being aligned to in meters, infinite if not aligning. */
+  public double getAlignDistance() {
+    if (_alignPose == null) return Double.POSITIVE_INFINITY;
+
+    return getPose().getTranslation().getDistance(_alignPose.getTranslation());
+  }
+
+  /** The trajectory currently being followed, or null if none is. */
+  public TrajectoryFollower getActiveTrajectory() {
+    return _activeTrajectory;
+  }
+
+  /** The distance between the pose and the last followed trajectory sample in meters. */
+  public double getTrajectoryTranslationError() {
+    return _trajectoryTranslationError;
+  }
+
+  /** The absolute heading error from the last followed trajectory sample in radians. */
+  public double getTrajectoryHeadingError() {
+    return _trajectoryHeadingError;
+  }
+
+  /** Tracking error statistics of the current trajectory, or the last one if none is active. */
+  public TrackingErrorStats getTrajectoryStats() {
+    return _trajectoryStats;
+  }
+
+  /**
+   * Sets the gains used to correct trajectory following.
+   *
+   * @see HolonomicController#setTrajectoryGains(double, double)
+   */
+  public void setTrajectoryGains(double translationkP, double headingkP) {
+    _poseController.setTrajectoryGains(translationkP, headingkP);
+  }
+
   /** Wrapper for getting estimated pose. */
   public Pose2d getPose() {
     return getState().Pose;
@@ -694,6 +1134,24 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     }
   }
 
+  // checks the drive state for wheel slip and collisions
+  private void updateSlipDetector(SwerveDriveState state) {
+    BaseStatusSignal.refreshAll(_slipSignals);
+
+    for (int i = 0; i < _driveCurrentValues.length; i++) {
+      _driveCurrentValues[i] = _driveCurrents.get(i).getValueAsDouble();
+    }
+
+    _slipDetector.update(
+        state.ModuleStates,
+        _driveCurrentValues,
+        _accelerationX.getValueAsDouble(),
+        _accelerationY.getValueAsDouble(),
+        state.Timestamp);
+
+    DogLog.log("Swerve/Slip Residual", _slipDetector.getResidual());
+  }
+
   // update the alignment estimate
   // and the odometry compensation transform when an
   // alignment tag is wanted
@@ -766,20 +1224,72 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
 
     DogLog.log("Swerve/Detected Tags", _detectedTags.toArray(Pose3d[]::new));
 
+    _currentCommandLog.log(currentCommandName());
+    _isFieldOrientedLog.log(_isFieldOriented);
+    _isOpenLoopLog.log(_isOpenLoop);
+    _ignoreVisionEstimatesLog.log(_ignoreVisionEstimates);
+
+    double now = Utils.getCurrentTimeSeconds();
+
+    // trust vision more for a little while after odometry was disturbed
+    boolean isRecovering =
+        now - Math.max(_slipDetector.getLastSlipTime(), _slipDetector.getLastCollisionTime())
+            < SwerveConstants.slipRecoveryTime.in(Seconds);
+
+    DogLog.log("Swerve/Is Recovering From Slip", isRecovering);
+
     if (!_ignoreVisionEstimates) {
       _acceptedEstimates.sort(VisionPoseEstimate.sorter);
 
+      double stdDevsFactor = isRecovering ? SwerveConstants.slipVisionStdDevsFactor : 1;
+
       _acceptedEstimates.forEach(
           (e) -> {
             var stdDevs = e.stdDevs();
             addVisionMeasurement(
                 e.pose().toPose2d(),
                 Utils.fpgaToCurrentTime(e.timestamp()),
-                VecBuilder.fill(stdDevs[0], stdDevs[1], stdDevs[2]));
+                VecBuilder.fill(
+                    stdDevs[0] * stdDevsFactor,
+                    stdDevs[1] * stdDevsFactor,
+                    stdDevs[2] * stdDevsFactor));
           });
+
+      resetToVisionAfterCollision();
     }
   }
 
+  // after a collision, snap the translation to the most trusted vision estimate taken after it,
+  // compensated for latency
+  private void resetToVisionAfterCollision() {
+    double collisionTime = _slipDetector.getLastCollisionTime();
+
+    if (collisionTime <= _lastCollisionReset) return;
+
+    VisionPoseEstimate best = null;
+
+    for (VisionPoseEstimate estimate : _acceptedEstimates) {
+      if (Utils.fpgaToCurrentTime(estimate.timestamp()) < collisionTime) continue;
+
+      if (best == null || estimate.stdDevs()[0] < best.stdDevs()[0]) best = estimate;
+    }
+
+    if (best == null) return;
+
+    double timestamp = Utils.fpgaToCurrentTime(best.timestamp());
+
+    // the estimate is as old as the camera latency, so carry it forward by how far odometry says
+    // the robot has moved since
+    Translation2d moved =
+        getPose()
+            .getTranslation()
+            .minus(samplePoseAt(timestamp).orElse(getPose()).getTranslation());
+
+    resetTranslation(best.pose().toPose2d().getTranslation().plus(moved));
+
+    _lastCollisionReset = collisionTime;
+  }
+
   @Override
   public void simulationPeriodic() {
     _visionSystemSim.update(getPose()); // TODO: this might require a seperate wheel-only odom
@@ -805,7 +1315,5 @@ public class Swerve extends TunerSwerveDrivetrain implements Subsystem, SelfChec
     super.close();
 
     _cameras.forEach(cam -> cam.close());
-
-    _simNotifier.close();
   }
 }
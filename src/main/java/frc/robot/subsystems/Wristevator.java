@@ -5,7 +5,6 @@ import static frc.robot.Constants.WristevatorConstants.Preset.*;
 
 import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
-import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.configs.Slot0Configs;
 import com.ctre.phoenix6.configs.Slot1Configs;
@@ -17,28 +16,18 @@ import com.ctre.phoenix6.controls.VelocityVoltage;
 import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.GravityTypeValue;
-import com.ctre.phoenix6.signals.MotionMagicIsRunningValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import dev.doglog.DogLog;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.MathUtil;
-import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.system.plant.DCMotor;
-import edu.wpi.first.math.trajectory.TrapezoidProfile;
-import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
-import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.networktables.BooleanEntry;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DigitalInput;
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.simulation.DIOSim;
-import edu.wpi.first.wpilibj.simulation.ElevatorSim;
-import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
 import edu.wpi.first.wpilibj.smartdashboard.Mechanism2d;
 import edu.wpi.first.wpilibj.smartdashboard.MechanismLigament2d;
 import edu.wpi.first.wpilibj.smartdashboard.MechanismRoot2d;
@@ -47,11 +36,17 @@ import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
-import edu.wpi.first.wpilibj2.command.button.Trigger;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.lib.AdvancedSubsystem;
 import frc.lib.CTREUtil;
+import frc.lib.ChangeLogger.BooleanLog;
 import frc.lib.FaultLogger;
+import frc.lib.FaultsTable.FaultType;
+import frc.lib.MotionMagicTracker;
+import frc.lib.MotionMagicTracker.Event;
+import frc.lib.SignalSnapshot;
+import frc.lib.SignalSnapshot.Signal;
+import frc.lib.SimScheduler;
 import frc.lib.Tuning;
 import frc.robot.Constants;
 import frc.robot.Constants.WristevatorConstants;
@@ -59,7 +54,11 @@ import frc.robot.Constants.WristevatorConstants.Intermediate;
 import frc.robot.Constants.WristevatorConstants.Preset;
 import frc.robot.Constants.WristevatorConstants.Setpoint;
 import frc.robot.Robot;
+import frc.robot.utils.SCurveProfile;
 import frc.robot.utils.SysId;
+import frc.robot.utils.WristevatorObstacles;
+import frc.robot.utils.WristevatorPlanner;
+import frc.robot.utils.WristevatorSim;
 import java.util.function.DoubleSupplier;
 
 public class Wristevator extends AdvancedSubsystem {
@@ -88,16 +87,25 @@ public class Wristevator extends AdvancedSubsystem {
   private final VoltageOut _elevatorVoltageSetter = new VoltageOut(0);
   private final VoltageOut _wristVoltageSetter = new VoltageOut(0);
 
-  private final StatusSignal<Angle> _heightGetter = _leftMotor.getPosition();
-  private final StatusSignal<Angle> _angleGetter = _wristMotor.getPosition();
+  private final Signal _heightGetter =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getPosition());
+  private final Signal _angleGetter =
+      SignalSnapshot.register(_wristMotor, _wristMotor.getPosition());
 
-  private final StatusSignal<Double> _elevatorReference = _leftMotor.getClosedLoopReference();
-  private final StatusSignal<Double> _elevatorReferenceSlope =
-      _leftMotor.getClosedLoopReferenceSlope();
+  private final Signal _elevatorReference =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getClosedLoopReference());
+  private final Signal _elevatorReferenceSlope =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getClosedLoopReferenceSlope());
 
-  private final StatusSignal<Double> _wristReference = _wristMotor.getClosedLoopReference();
-  private final StatusSignal<Double> _wristReferenceSlope =
-      _wristMotor.getClosedLoopReferenceSlope();
+  private final Signal _wristReference =
+      SignalSnapshot.register(_wristMotor, _wristMotor.getClosedLoopReference());
+  private final Signal _wristReferenceSlope =
+      SignalSnapshot.register(_wristMotor, _wristMotor.getClosedLoopReferenceSlope());
+
+  private final Signal _elevatorMotionMagicIsRunning =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getMotionMagicIsRunning());
+  private final Signal _wristMotionMagicIsRunning =
+      SignalSnapshot.register(_wristMotor, _wristMotor.getMotionMagicIsRunning());
 
   private final SysIdRoutine _elevatorRoutine =
       new SysIdRoutine(
@@ -119,74 +127,70 @@ public class Wristevator extends AdvancedSubsystem {
           new SysIdRoutine.Mechanism(
               (Voltage volts) -> setWristVoltage(volts.in(Volts)), null, this));
 
-  @Logged(name = "Motion Magic Timestamp Threshold")
-  private double _motionMagicTimestampThreshold = 0;
-
-  private final Trigger _motionMagicTrigger =
-      new Trigger(
-              () ->
-                  _leftMotor.getMotionMagicIsRunning().getValue()
-                      == MotionMagicIsRunningValue.Enabled)
-          .and(
-              () ->
-                  _wristMotor.getMotionMagicIsRunning().getValue()
-                      == MotionMagicIsRunningValue.Enabled)
-          .onTrue(
-              Commands.runOnce(
-                  () -> _motionMagicTimestampThreshold = Utils.getCurrentTimeSeconds()));
-
-  private final StatusSignal<AngularVelocity> _elevatorVelocityGetter = _leftMotor.getVelocity();
-  private final StatusSignal<AngularVelocity> _wristVelocityGetter = _wristMotor.getVelocity();
+  private final Signal _elevatorVelocityGetter =
+      SignalSnapshot.register(_leftMotor, _leftMotor.getVelocity());
+  private final Signal _wristVelocityGetter =
+      SignalSnapshot.register(_wristMotor, _wristMotor.getVelocity());
 
   private final VelocityVoltage _elevatorVelocitySetter = new VelocityVoltage(0).withSlot(1);
   private final VelocityVoltage _wristVelocitySetter = new VelocityVoltage(0).withSlot(1);
 
-  // elevator profile
-  private final Constraints _elevatorMaxConstraints =
-      new Constraints(
-          WristevatorConstants.maxElevatorSpeed.in(RadiansPerSecond),
-          WristevatorConstants.maxElevatorAcceleration.in(RadiansPerSecondPerSecond));
-
-  private final State _elevatorMaxGoal = new State();
-  private State _elevatorMaxSetpoint = new State();
-
-  private final TrapezoidProfile _elevatorMaxProfile =
-      new TrapezoidProfile(_elevatorMaxConstraints);
-
-  // wrist profile
-  private final Constraints _wristMaxConstraints =
-      new Constraints(
-          WristevatorConstants.maxWristSpeed.in(RadiansPerSecond),
-          WristevatorConstants.maxWristAcceleration.in(RadiansPerSecondPerSecond));
-
-  private final State _wristMaxGoal = new State();
-  private State _wristMaxSetpoint = new State();
-
-  private final TrapezoidProfile _wristMaxProfile = new TrapezoidProfile(_wristMaxConstraints);
+  // max profile constraints in radians
+  private final double _elevatorMaxSpeed =
+      WristevatorConstants.maxElevatorSpeed.in(RadiansPerSecond);
+  private final double _elevatorMaxAcceleration =
+      WristevatorConstants.maxElevatorAcceleration.in(RadiansPerSecondPerSecond);
+  private final double _elevatorMaxJerk =
+      WristevatorConstants.maxElevatorJerk.in(RadiansPerSecondPerSecond.per(Second));
+
+  private final double _wristMaxSpeed = WristevatorConstants.maxWristSpeed.in(RadiansPerSecond);
+  private final double _wristMaxAcceleration =
+      WristevatorConstants.maxWristAcceleration.in(RadiansPerSecondPerSecond);
+  private final double _wristMaxJerk =
+      WristevatorConstants.maxWristJerk.in(RadiansPerSecondPerSecond.per(Second));
+
+  private final MotionMagicTracker _elevatorProfile =
+      new MotionMagicTracker(
+          _elevatorMotionMagicIsRunning,
+          _elevatorReference,
+          _elevatorReferenceSlope,
+          _heightGetter,
+          WristevatorConstants.elevatorStallError.in(Rotations),
+          WristevatorConstants.stallTime.in(Seconds));
+  private final MotionMagicTracker _wristProfile =
+      new MotionMagicTracker(
+          _wristMotionMagicIsRunning,
+          _wristReference,
+          _wristReferenceSlope,
+          _angleGetter,
+          WristevatorConstants.wristStallError.in(Rotations),
+          WristevatorConstants.stallTime.in(Seconds));
 
   private final DigitalInput _homeSwitch = new DigitalInput(WristevatorConstants.homeSwitch);
 
-  @Logged(name = "Is Manual")
   private boolean _isManual = false;
-
-  @Logged(name = "Is Motion Magic")
-  private boolean _isMotionMagic = false;
-
-  @Logged(name = "Finished Latest Profiles")
   private boolean _finishedLatestProfiles = true;
+  private boolean _stalledLatestProfiles = false;
+
+  private final BooleanLog _isManualLog = new BooleanLog(getName() + "/Is Manual");
+  private final BooleanLog _finishedLatestProfilesLog =
+      new BooleanLog(getName() + "/Finished Latest Profiles");
+  private final BooleanLog _stalledLatestProfilesLog =
+      new BooleanLog(getName() + "/Stalled Latest Profiles");
+  private final BooleanLog _homeSwitchLog = new BooleanLog(getName() + "/Home Switch");
 
   private final BooleanEntry _homeSwitchFake = Tuning.entry("Tuning/Home Switch", false);
 
-  private Setpoint _latestSetpoint = HOME;
+  private static final Intermediate[] _intermediates = Intermediate.values();
 
-  private DIOSim _homeSwitchSim;
+  private Setpoint _latestSetpoint = HOME;
 
-  private ElevatorSim _elevatorSim;
-  private SingleJointedArmSim _wristSim;
+  private final WristevatorObstacles _obstacles = WristevatorObstacles.fromDeploy();
+  private final WristevatorPlanner _planner = WristevatorPlanner.fromDeploy(_obstacles);
 
-  private double _lastSimTime;
+  private DIOSim _homeSwitchSim;
 
-  private Notifier _simNotifier;
+  private WristevatorSim _sim;
 
   public Wristevator() {
     var leftMotorConfigs = new TalonFXConfiguration();
@@ -286,6 +290,8 @@ public class Wristevator extends AdvancedSubsystem {
     FaultLogger.register(_rightMotor);
     FaultLogger.register(_wristMotor);
 
+    _planner.validate().forEach(problem -> FaultLogger.report(problem, FaultType.ERROR));
+
     _rightMotor.setControl(new Follower(WristevatorConstants.leftMotorId, true));
 
     setDefaultCommand(holdInPlace());
@@ -319,113 +325,94 @@ public class Wristevator extends AdvancedSubsystem {
     if (Robot.isSimulation()) {
       _homeSwitchSim = new DIOSim(_homeSwitch);
 
-      _elevatorSim =
-          new ElevatorSim(
-              DCMotor.getKrakenX60(2),
+      _sim =
+          new WristevatorSim(
+              DCMotor.getKrakenX60(1),
               WristevatorConstants.elevatorGearRatio,
-              Units.lbsToKilograms(9.398),
               WristevatorConstants.drumRadius.in(Meters),
-              0,
+              Units.lbsToKilograms(9.398),
               WristevatorConstants.maxElevatorHeight.in(Rotations)
                   * WristevatorConstants.drumCircumference.in(Meters),
-              false,
-              0);
-
-      _wristSim =
-          new SingleJointedArmSim(
               DCMotor.getKrakenX60(1),
               WristevatorConstants.wristGearRatio,
-              SingleJointedArmSim.estimateMOI(
-                  WristevatorConstants.manipulatorLength.in(Meters), Units.lbsToKilograms(8.155)),
+              Units.lbsToKilograms(8.155),
               WristevatorConstants.manipulatorLength.in(Meters),
               WristevatorConstants.minWristAngle.in(Radians),
               WristevatorConstants.maxWristAngle.in(Radians),
-              false,
               0);
 
-      startSimThread();
+      SimScheduler.register(this::updateSim);
     }
   }
 
-  private void startSimThread() {
-    _lastSimTime = Utils.getCurrentTimeSeconds();
-
-    _simNotifier =
-        new Notifier(
-            () -> {
-              final double batteryVolts = RobotController.getBatteryVoltage();
-
-              final double currentTime = Utils.getCurrentTimeSeconds();
-              final double deltaTime = currentTime - _lastSimTime;
-
-              var leftMotorSimState = _leftMotor.getSimState();
-              var rightMotorSimState = _rightMotor.getSimState();
-              var wristMotorSimState = _wristMotor.getSimState();
-
-              leftMotorSimState.setSupplyVoltage(batteryVolts);
-              rightMotorSimState.setSupplyVoltage(batteryVolts);
-              wristMotorSimState.setSupplyVoltage(batteryVolts);
-
-              _elevatorSim.setInputVoltage(leftMotorSimState.getMotorVoltageMeasure().in(Volts));
-              _wristSim.setInputVoltage(wristMotorSimState.getMotorVoltageMeasure().in(Volts));
-
-              _elevatorSim.update(deltaTime);
-              _wristSim.update(deltaTime);
-
-              // raw rotor positions
-              leftMotorSimState.setRawRotorPosition(
-                  _elevatorSim.getPositionMeters()
-                      / WristevatorConstants.drumCircumference.in(Meters)
-                      * WristevatorConstants.elevatorGearRatio);
-              rightMotorSimState.setRawRotorPosition(
-                  -_elevatorSim.getPositionMeters()
-                      / WristevatorConstants.drumCircumference.in(Meters)
-                      * WristevatorConstants.elevatorGearRatio);
-              wristMotorSimState.setRawRotorPosition(
-                  Units.radiansToRotations(
-                      _wristSim.getAngleRads() * WristevatorConstants.wristGearRatio));
-
-              // raw rotor velocities
-              leftMotorSimState.setRotorVelocity(
-                  _elevatorSim.getVelocityMetersPerSecond()
-                      / WristevatorConstants.drumCircumference.in(Meters)
-                      * WristevatorConstants.elevatorGearRatio);
-              rightMotorSimState.setRotorVelocity(
-                  -_elevatorSim.getVelocityMetersPerSecond()
-                      / WristevatorConstants.drumCircumference.in(Meters)
-                      * WristevatorConstants.elevatorGearRatio);
-              wristMotorSimState.setRotorVelocity(
-                  Units.radiansToRotations(
-                      _wristSim.getVelocityRadPerSec() * WristevatorConstants.wristGearRatio));
-
-              _lastSimTime = currentTime;
-            });
-
-    _simNotifier.setName("Wristevator Sim Thread");
-    _simNotifier.startPeriodic(1 / Constants.simUpdateFrequency.in(Hertz));
+  private void updateSim(double deltaTime) {
+    final double batteryVolts = RobotController.getBatteryVoltage();
+
+    var leftMotorSimState = _leftMotor.getSimState();
+    var rightMotorSimState = _rightMotor.getSimState();
+    var wristMotorSimState = _wristMotor.getSimState();
+
+    leftMotorSimState.setSupplyVoltage(batteryVolts);
+    rightMotorSimState.setSupplyVoltage(batteryVolts);
+    wristMotorSimState.setSupplyVoltage(batteryVolts);
+
+    _sim.setPayloadMass(
+        switch (Robot.getCurrentPiece()) {
+          case CORAL -> WristevatorConstants.coralMass.in(Kilograms);
+          case ALGAE -> WristevatorConstants.algaeMass.in(Kilograms);
+          case NONE -> 0;
+        });
+
+    // the right motor is opposed to the left
+    _sim.setInputVoltages(
+        leftMotorSimState.getMotorVoltageMeasure().in(Volts),
+        -rightMotorSimState.getMotorVoltageMeasure().in(Volts),
+        wristMotorSimState.getMotorVoltageMeasure().in(Volts));
+
+    _sim.update(deltaTime);
+
+    double elevatorRotorPosition =
+        _sim.getHeight()
+            / WristevatorConstants.drumCircumference.in(Meters)
+            * WristevatorConstants.elevatorGearRatio;
+    double elevatorRotorVelocity =
+        _sim.getElevatorVelocity()
+            / WristevatorConstants.drumCircumference.in(Meters)
+            * WristevatorConstants.elevatorGearRatio;
+
+    // raw rotor positions
+    leftMotorSimState.setRawRotorPosition(elevatorRotorPosition);
+    rightMotorSimState.setRawRotorPosition(-elevatorRotorPosition);
+    wristMotorSimState.setRawRotorPosition(
+        Units.radiansToRotations(_sim.getAngle() * WristevatorConstants.wristGearRatio));
+
+    // raw rotor velocities
+    leftMotorSimState.setRotorVelocity(elevatorRotorVelocity);
+    rightMotorSimState.setRotorVelocity(-elevatorRotorVelocity);
+    wristMotorSimState.setRotorVelocity(
+        Units.radiansToRotations(_sim.getWristVelocity() * WristevatorConstants.wristGearRatio));
   }
 
   @Logged(name = "Elevator Velocity")
   public double getElevatorVelocity() {
-    return _elevatorVelocityGetter.refresh().getValue().in(RadiansPerSecond);
+    return Units.rotationsToRadians(_elevatorVelocityGetter.getValue());
   }
 
   @Logged(name = "Wrist Velocity")
   public double getWristVelocity() {
-    return _wristVelocityGetter.refresh().getValue().in(RadiansPerSecond);
+    return Units.rotationsToRadians(_wristVelocityGetter.getValue());
   }
 
   @Logged(name = "Elevator Height")
   public double getHeight() {
-    return _heightGetter.refresh().getValue().in(Radians);
+    return Units.rotationsToRadians(_heightGetter.getValue());
   }
 
   @Logged(name = "Wrist Angle")
   public double getAngle() {
-    return _angleGetter.refresh().getValue().in(Radians);
+    return Units.rotationsToRadians(_angleGetter.getValue());
   }
 
-  @Logged(name = "Home Switch")
   public boolean homeSwitch() {
     return !_homeSwitch.get();
   }
@@ -435,6 +422,11 @@ public class Wristevator extends AdvancedSubsystem {
     return _isManual;
   }
 
+  /** Whether the latest profiles stalled before reaching their setpoint. */
+  public boolean hasStalled() {
+    return _stalledLatestProfiles;
+  }
+
   /** Indicate switch to manual control. */
   public Command switchToManual() {
     return Commands.runOnce(
@@ -445,7 +437,8 @@ public class Wristevator extends AdvancedSubsystem {
         .withName("Switch To Manual");
   }
 
-  private Command holdInPlace() {
+  /** Holds the wristevator at its latest setpoint, which is also its default command. */
+  public Command holdInPlace() {
     return run(() -> {
           _leftMotor.setControl(_heightSetter);
           _wristMotor.setControl(_angleSetter);
@@ -453,32 +446,9 @@ public class Wristevator extends AdvancedSubsystem {
         .withName("Hold In Place");
   }
 
-  // distance between current position and supplied setpoint
-  private double distance(Setpoint b) {
-    var x1 = getHeight();
-    var x2 = b.getHeight().in(Radians);
-
-    var y1 = getAngle();
-    var y2 = b.getAngle().in(Radians);
-
-    return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
-  }
-
-  // refresh the references of the talonfx profiles
-  private void refreshProfileReferences() {
-    BaseStatusSignal.refreshAll(
-        _elevatorReference, _elevatorReferenceSlope, _wristReference, _wristReferenceSlope);
-
-    _isMotionMagic = false;
-
-    if (!_motionMagicTrigger.getAsBoolean()) return;
-
-    if (_elevatorReference.getTimestamp().getTime() > _motionMagicTimestampThreshold
-        && _elevatorReferenceSlope.getTimestamp().getTime() > _motionMagicTimestampThreshold
-        && _wristReference.getTimestamp().getTime() > _motionMagicTimestampThreshold
-        && _wristReferenceSlope.getTimestamp().getTime() > _motionMagicTimestampThreshold) {
-      _isMotionMagic = true;
-    }
+  // distance between a position and supplied setpoint
+  private static double distance(double height, double angle, Setpoint b) {
+    return Math.hypot(b.getHeight().in(Radians) - height, b.getAngle().in(Radians) - angle);
   }
 
   /** Finds the next setpoint variable given the previous setpoint variable and the goal. */
@@ -486,140 +456,160 @@ public class Wristevator extends AdvancedSubsystem {
     // if we haven't finished the previous profiles
     if (!_finishedLatestProfiles) {
       Intermediate closest = Intermediate.INFINITY;
+      Intermediate closestReachable = Intermediate.INFINITY;
+
+      double closestDistance = Double.POSITIVE_INFINITY;
+      double closestReachableDistance = Double.POSITIVE_INFINITY;
+
+      double height = getHeight();
+      double angle = getAngle();
 
-      // find the closest intermediate vertex
-      for (Intermediate intermediate : Intermediate.values()) {
-        if (distance(intermediate) < distance(closest)) {
+      // find the closest intermediate vertex, preferring ones that can be moved to directly
+      for (Intermediate intermediate : _intermediates) {
+        if (intermediate == Intermediate.INFINITY) continue;
+
+        double distance = distance(height, angle, intermediate);
+
+        if (distance < closestDistance) {
           closest = intermediate;
+          closestDistance = distance;
         }
-      }
 
-      _latestSetpoint = closest;
+        boolean isReachable =
+            !_obstacles.intersects(
+                height,
+                angle,
+                intermediate.getHeight().in(Radians),
+                intermediate.getAngle().in(Radians));
 
-      return;
-    }
+        if (isReachable && distance < closestReachableDistance) {
+          closestReachable = intermediate;
+          closestReachableDistance = distance;
+        }
+      }
 
-    if (WristevatorConstants.setpointMap.containsKey(Pair.of(_latestSetpoint, goal))) {
-      _latestSetpoint = WristevatorConstants.setpointMap.get(Pair.of(_latestSetpoint, goal));
+      _latestSetpoint = closestReachable != Intermediate.INFINITY ? closestReachable : closest;
 
       return;
     }
 
-    _latestSetpoint = goal;
+    _latestSetpoint = _planner.next(_latestSetpoint, goal);
   }
 
-  /** Find new constraints for the motion magic control requests. */
-  private void findProfileConstraints(Setpoint setpoint) {
-    _elevatorMaxSetpoint.position = getHeight();
-    _elevatorMaxSetpoint.velocity = 0;
+  /**
+   * Finds new constraints for the motion magic control requests, so that both axes finish their
+   * jerk-limited profiles to a setpoint at the same time.
+   */
+  private void synchronizeProfiles(Setpoint setpoint) {
+    double elevatorTime =
+        SCurveProfile.time(
+            setpoint.getHeight().in(Radians) - getHeight(),
+            _elevatorMaxSpeed,
+            _elevatorMaxAcceleration,
+            _elevatorMaxJerk);
+
+    double wristTime =
+        SCurveProfile.time(
+            setpoint.getAngle().in(Radians) - getAngle(),
+            _wristMaxSpeed,
+            _wristMaxAcceleration,
+            _wristMaxJerk);
+
+    double time = Math.max(elevatorTime, wristTime);
+
+    // time scale the faster axis so it stretches out to the slower one
+    double elevatorScale = SCurveProfile.scale(elevatorTime, time);
+    double wristScale = SCurveProfile.scale(wristTime, time);
+
+    _heightSetter.Velocity = Units.radiansToRotations(_elevatorMaxSpeed / elevatorScale);
+    _heightSetter.Acceleration =
+        Units.radiansToRotations(_elevatorMaxAcceleration / Math.pow(elevatorScale, 2));
+    _heightSetter.Jerk = Units.radiansToRotations(_elevatorMaxJerk / Math.pow(elevatorScale, 3));
+
+    _angleSetter.Velocity = Units.radiansToRotations(_wristMaxSpeed / wristScale);
+    _angleSetter.Acceleration =
+        Units.radiansToRotations(_wristMaxAcceleration / Math.pow(wristScale, 2));
+    _angleSetter.Jerk = Units.radiansToRotations(_wristMaxJerk / Math.pow(wristScale, 3));
+
+    DogLog.log("Wristevator/Synchronized Profile Time", time);
+  }
 
-    _wristMaxSetpoint.position = getAngle();
-    _wristMaxSetpoint.velocity = 0;
+  /**
+   * Sends the profiles to the latest setpoint and starts tracking them. Intermediates only need to
+   * be reached within a tolerance, so the wristevator blends through them without stopping.
+   */
+  private void startProfiles(Setpoint goal) {
+    synchronizeProfiles(_latestSetpoint);
 
-    _elevatorMaxGoal.position = setpoint.getHeight().in(Radians);
-    _elevatorMaxGoal.velocity = 0;
+    _leftMotor.setControl(_heightSetter.withPosition(_latestSetpoint.getHeight()));
+    _wristMotor.setControl(_angleSetter.withPosition(_latestSetpoint.getAngle()));
 
-    _wristMaxGoal.position = setpoint.getAngle().in(Radians);
-    _wristMaxGoal.velocity = 0;
+    boolean isGoal = _latestSetpoint == goal;
 
-    _elevatorMaxProfile.calculate(0, _elevatorMaxSetpoint, _elevatorMaxGoal);
-    _wristMaxProfile.calculate(0, _wristMaxSetpoint, _wristMaxGoal);
+    _elevatorProfile.start(
+        _latestSetpoint.getHeight().in(Rotations),
+        isGoal ? 0.001 : WristevatorConstants.elevatorBlendTolerance.in(Rotations),
+        isGoal);
+    _wristProfile.start(
+        _latestSetpoint.getAngle().in(Rotations),
+        isGoal ? 0.001 : WristevatorConstants.wristBlendTolerance.in(Rotations),
+        isGoal);
 
-    double elevatorTime = _elevatorMaxProfile.totalTime();
-    double wristTime = _wristMaxProfile.totalTime();
+    _finishedLatestProfiles = false;
+    _stalledLatestProfiles = false;
+  }
 
-    TrapezoidProfile fasterProfile =
-        wristTime > elevatorTime ? _elevatorMaxProfile : _wristMaxProfile;
-    TrapezoidProfile slowerProfile =
-        fasterProfile.equals(_elevatorMaxProfile) ? _wristMaxProfile : _elevatorMaxProfile;
+  // reacts to the profiles' events, right after the signals are refreshed so a reached setpoint is
+  // moved on from in the same loop
+  private void updateProfiles() {
+    Event elevatorEvent = _elevatorProfile.update();
+    Event wristEvent = _wristProfile.update();
 
-    double fasterDistance = 0;
-    double slowerVel = 0;
-    double slowerAccel = 0;
+    if (elevatorEvent == Event.STALLED || wristEvent == Event.STALLED) {
+      _stalledLatestProfiles = true;
 
-    if (fasterProfile == _elevatorMaxProfile) {
-      fasterDistance = setpoint.getHeight().in(Radians) - getHeight();
-      slowerVel = _wristMaxConstraints.maxVelocity;
-      slowerAccel = _wristMaxConstraints.maxAcceleration;
-    } else {
-      fasterDistance = setpoint.getAngle().in(Radians) - getAngle();
-      slowerVel = _elevatorMaxConstraints.maxVelocity;
-      slowerAccel = _elevatorMaxConstraints.maxAcceleration;
+      FaultLogger.report(
+          "Wristevator: " + (elevatorEvent == Event.STALLED ? "elevator" : "wrist") + " stalled",
+          FaultType.WARNING);
     }
 
-    // find the acceleration and cruise times of the slower profile
-    double slowerAccelTime = slowerVel / slowerAccel;
-    double slowerCruiseTime = slowerProfile.totalTime() - 2 * slowerAccelTime;
-
-    // if the slower profile doesn't reach a cruise velocity (triangular profile)
-    // make the cruise time 0 and re-calculate acceleration time and peak velocity
-    if (Math.signum(slowerCruiseTime) <= 0) {
-      slowerCruiseTime = 0;
-      slowerAccelTime = slowerProfile.totalTime() / 2;
-
-      slowerVel = slowerAccelTime * slowerAccel;
+    if (elevatorEvent == Event.STARTED || wristEvent == Event.STARTED) {
+      DogLog.log("Wristevator/Profile Start Time", Utils.getCurrentTimeSeconds());
     }
 
-    double adjustedVel =
-        fasterDistance
-            / (slowerAccel / slowerVel * Math.pow(slowerAccelTime, 2) + slowerCruiseTime);
-    double adjustedAccel = adjustedVel / slowerAccelTime;
+    if ((elevatorEvent == Event.REACHED || wristEvent == Event.REACHED)
+        && _elevatorProfile.hasReached()
+        && _wristProfile.hasReached()) {
+      _finishedLatestProfiles = true;
 
-    var elevatorConstraints =
-        fasterProfile.equals(_elevatorMaxProfile)
-            ? new Constraints(adjustedVel, adjustedAccel)
-            : _elevatorMaxConstraints;
-
-    var wristContraints =
-        fasterProfile.equals(_wristMaxProfile)
-            ? new Constraints(adjustedVel, adjustedAccel)
-            : _wristMaxConstraints;
+      DogLog.log(
+          "Wristevator/Profile Reached Time",
+          Math.max(_elevatorProfile.getReachedTime(), _wristProfile.getReachedTime()));
+    }
+  }
 
-    // re-assign profile constraints to motors
-    _heightSetter.Velocity = Units.radiansToRotations(elevatorConstraints.maxVelocity);
-    _heightSetter.Acceleration = Units.radiansToRotations(elevatorConstraints.maxAcceleration);
+  /** The setpoint the wristevator is currently moving to, which may be an intermediate. */
+  public Setpoint getLatestSetpoint() {
+    return _latestSetpoint;
+  }
 
-    _angleSetter.Velocity = Units.radiansToRotations(wristContraints.maxVelocity);
-    _angleSetter.Acceleration = Units.radiansToRotations(wristContraints.maxAcceleration);
+  /** The time the fastest route from the latest setpoint to a goal takes in seconds. */
+  public double routeTime(Setpoint goal) {
+    return _planner.routeTime(_latestSetpoint, goal);
   }
 
   /** Drives the wristevator to a goal setpoint, going to any intermediate setpoints if needed. */
   public Command setGoal(Setpoint goal) {
     return run(() -> {
-          // move towards the next setpoint
-          _leftMotor.setControl(_heightSetter.withPosition(_latestSetpoint.getHeight()));
-          _wristMotor.setControl(_angleSetter.withPosition(_latestSetpoint.getAngle()));
-
-          if (!_isMotionMagic) return;
-
-          // once the next setpoint is reached, re-find the next one
-          if (_finishedLatestProfiles) {
+          // once the next setpoint is reached, move on to the one after it
+          if (_finishedLatestProfiles && _latestSetpoint != goal) {
             findNextSetpoint(goal);
-            findProfileConstraints(_latestSetpoint);
+            startProfiles(goal);
           }
 
-          _finishedLatestProfiles =
-              (MathUtil.isNear(
-                      _latestSetpoint.getHeight().in(Rotations),
-                      _elevatorReference.getValueAsDouble(),
-                      0.001)
-                  && MathUtil.isNear(0, _elevatorReferenceSlope.getValueAsDouble(), 0.001)
-                  && MathUtil.isNear(
-                      _latestSetpoint.getAngle().in(Rotations),
-                      _wristReference.getValueAsDouble(),
-                      0.001)
-                  && MathUtil.isNear(0, _wristReferenceSlope.getValueAsDouble(), 0.001));
-
-          // log what's generated by wpilib
-          DogLog.log(
-              "Wristevator/Non-Adjusted Desired Elevator Speed", _elevatorMaxSetpoint.velocity);
-          DogLog.log("Wristevator/Non-Adjusted Desired Wrist Speed", _wristMaxSetpoint.velocity);
-
-          _elevatorMaxSetpoint =
-              _elevatorMaxProfile.calculate(
-                  Robot.kDefaultPeriod, _elevatorMaxSetpoint, _elevatorMaxGoal);
-          _wristMaxSetpoint =
-              _wristMaxProfile.calculate(Robot.kDefaultPeriod, _wristMaxSetpoint, _wristMaxGoal);
+          // keep sending the requests so limit changes apply
+          _leftMotor.setControl(_heightSetter);
+          _wristMotor.setControl(_angleSetter);
         })
         .beforeStarting(
             setSpeeds(() -> 0, () -> 0)
@@ -632,11 +622,9 @@ public class Wristevator extends AdvancedSubsystem {
                       _isManual = false;
 
                       findNextSetpoint(goal);
-                      findProfileConstraints(_latestSetpoint);
-
-                      _finishedLatestProfiles = false;
+                      startProfiles(goal);
                     }))
-        .until(() -> _finishedLatestProfiles && _latestSetpoint == goal)
+        .until(() -> (_finishedLatestProfiles && _latestSetpoint == goal) || _stalledLatestProfiles)
         .withName("Set Goal");
   }
 
@@ -648,16 +636,40 @@ public class Wristevator extends AdvancedSubsystem {
    */
   public Command setSpeeds(DoubleSupplier elevatorSpeed, DoubleSupplier wristSpeed) {
     return run(() -> {
+          double elevator = elevatorSpeed.getAsDouble();
+          double wrist = wristSpeed.getAsDouble();
+
+          // keep out of obstacles, sliding along them when only one axis would enter
+          if (!isMotionSafe(elevator, wrist)) {
+            if (isMotionSafe(elevator, 0)) {
+              wrist = 0;
+            } else if (isMotionSafe(0, wrist)) {
+              elevator = 0;
+            } else {
+              elevator = 0;
+              wrist = 0;
+            }
+          }
+
           _leftMotor.setControl(
-              _elevatorVelocitySetter.withVelocity(
-                  Units.radiansToRotations(elevatorSpeed.getAsDouble())));
+              _elevatorVelocitySetter.withVelocity(Units.radiansToRotations(elevator)));
           _wristMotor.setControl(
-              _wristVelocitySetter.withVelocity(
-                  Units.radiansToRotations(wristSpeed.getAsDouble())));
+              _wristVelocitySetter.withVelocity(Units.radiansToRotations(wrist)));
         })
         .withName("Set Speeds");
   }
 
+  // whether moving at some speeds stays out of obstacles for the lookahead time
+  private boolean isMotionSafe(double elevatorSpeed, double wristSpeed) {
+    double lookahead = WristevatorConstants.obstacleLookahead.in(Seconds);
+
+    double height = getHeight();
+    double angle = getAngle();
+
+    return !_obstacles.intersects(
+        height, angle, height + elevatorSpeed * lookahead, angle + wristSpeed * lookahead);
+  }
+
   private void setElevatorVoltage(double volts) {
     _leftMotor.setControl(_elevatorVoltageSetter.withOutput(volts));
   }
@@ -670,27 +682,29 @@ public class Wristevator extends AdvancedSubsystem {
   public void periodic() {
     super.periodic();
 
-    refreshProfileReferences();
+    updateProfiles();
 
     // hard limits
     _heightSetter.LimitReverseMotion = homeSwitch();
     _elevatorVelocitySetter.LimitReverseMotion = homeSwitch();
 
     DogLog.log(
-        "Wristevator/Elevator Reference",
-        Units.rotationsToRadians(_elevatorReference.getValueAsDouble()));
-    DogLog.log(
-        "Wristevator/Wrist Reference",
-        Units.rotationsToRadians(_wristReference.getValueAsDouble()));
+        "Wristevator/Elevator Reference", Units.rotationsToRadians(_elevatorReference.getValue()));
+    DogLog.log("Wristevator/Wrist Reference", Units.rotationsToRadians(_wristReference.getValue()));
     DogLog.log(
         "Wristevator/Elevator Reference Slope",
-        Units.rotationsToRadians(_elevatorReferenceSlope.getValueAsDouble()));
+        Units.rotationsToRadians(_elevatorReferenceSlope.getValue()));
     DogLog.log(
         "Wristevator/Wrist Reference Slope",
-        Units.rotationsToRadians(_wristReferenceSlope.getValueAsDouble()));
+        Units.rotationsToRadians(_wristReferenceSlope.getValue()));
 
     DogLog.log("Wristevator/Latest Setpoint", _latestSetpoint.toString());
 
+    _isManualLog.log(_isManual);
+    _finishedLatestProfilesLog.log(_finishedLatestProfiles);
+    _stalledLatestProfilesLog.log(_stalledLatestProfiles);
+    _homeSwitchLog.log(homeSwitch());
+
     DogLog.log(
         "Wristevator/Position",
         new Translation2d(
@@ -713,7 +727,5 @@ public class Wristevator extends AdvancedSubsystem {
     _leftMotor.close();
     _rightMotor.close();
     _wristMotor.close();
-
-    _simNotifier.close();
   }
 }
@@ -0,0 +1,477 @@
+package frc.robot.utils;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates trajectories on the robot from the current pose and speeds to a goal pose, optionally
+ * through intermediate waypoints. The path is a quintic hermite spline (so curvature is continuous)
+ * that leaves in the direction the robot is already moving, which is then time-parameterized with a
+ * forward and backward pass to be as fast as the velocity and acceleration limits allow. Heading
+ * follows its own trapezoid profile.
+ */
+public class AlignTrajectoryGenerator {
+  // how many waypoints can be added to pull a trajectory off of obstacles before giving up
+  private static final int _maxRefinements = 4;
+
+  private final double _maxSpeed;
+  private final double _maxAcceleration;
+
+  private final Constraints _headingConstraints;
+
+  private final int _pathSamples;
+  private final int _moduleCount;
+
+  // reused between generations, these are only needed while generating
+  private final double[] _pathX;
+  private final double[] _pathY;
+  private final double[] _pathTangentX;
+  private final double[] _pathTangentY;
+  private final double[] _pathCurvature;
+  private final double[] _pathDistance;
+  private final double[] _pathSpeed;
+
+  /**
+   * Creates a new AlignTrajectoryGenerator.
+   *
+   * @param maxSpeed The max translational speed in meters per second.
+   * @param maxAcceleration The max translational acceleration in meters per second squared, shared
+   *     between speeding up and turning.
+   * @param maxAngularSpeed The max angular speed in radians per second.
+   * @param maxAngularAcceleration The max angular acceleration in radians per second squared.
+   * @param pathSamples The number of points the path is split into.
+   * @param moduleCount The number of swerve modules.
+   */
+  public AlignTrajectoryGenerator(
+      double maxSpeed,
+      double maxAcceleration,
+      double maxAngularSpeed,
+      double maxAngularAcceleration,
+      int pathSamples,
+      int moduleCount) {
+    _maxSpeed = maxSpeed;
+    _maxAcceleration = maxAcceleration;
+
+    _headingConstraints = new Constraints(maxAngularSpeed, maxAngularAcceleration);
+
+    _pathSamples = pathSamples;
+    _moduleCount = moduleCount;
+
+    _pathX = new double[pathSamples];
+    _pathY = new double[pathSamples];
+    _pathTangentX = new double[pathSamples];
+    _pathTangentY = new double[pathSamples];
+    _pathCurvature = new double[pathSamples];
+    _pathDistance = new double[pathSamples];
+    _pathSpeed = new double[pathSamples];
+  }
+
+  /**
+   * Generates a trajectory that ends at rest at the goal pose.
+   *
+   * @param start The current pose.
+   * @param startSpeeds The current field-relative speeds.
+   * @param goal The goal pose.
+   * @return The trajectory, ready to be followed.
+   */
+  public TrajectoryFollower generate(Pose2d start, ChassisSpeeds startSpeeds, Pose2d goal) {
+    return generate(start, startSpeeds, List.of(), goal);
+  }
+
+  /**
+   * Generates a trajectory through intermediate waypoints that ends at rest at the goal pose. Speed
+   * is carried through the waypoints, which are passed with a tangent halfway between the
+   * directions of the segments before and after them, so the path bows out of each corner.
+   *
+   * @param start The current pose.
+   * @param startSpeeds The current field-relative speeds.
+   * @param waypoints The translations to pass through on the way to the goal, in order.
+   * @param goal The goal pose.
+   * @return The trajectory, ready to be followed.
+   */
+  public TrajectoryFollower generate(
+      Pose2d start, ChassisSpeeds startSpeeds, List<Translation2d> waypoints, Pose2d goal) {
+    buildPath(start, startSpeeds, waypoints, goal);
+
+    parameterizePath(startSpeeds);
+
+    // time to reach each path point, from the average speed over each segment
+    double[] pathTimes = new double[_pathSamples];
+
+    for (int i = 1; i < _pathSamples; i++) {
+      double ds = _pathDistance[i] - _pathDistance[i - 1];
+      double speedSum = _pathSpeed[i - 1] + _pathSpeed[i];
+
+      pathTimes[i] = pathTimes[i - 1] + (speedSum > 0 ? 2 * ds / speedSum : 0);
+    }
+
+    // heading takes the short way around
+    double startHeading = start.getRotation().getRadians();
+    double goalHeading =
+        startHeading + MathUtil.angleModulus(goal.getRotation().getRadians() - startHeading);
+
+    var headingProfile = new TrapezoidProfile(_headingConstraints);
+
+    var headingStart =
+        new State(
+            startHeading,
+            MathUtil.clamp(
+                startSpeeds.omegaRadiansPerSecond,
+                -_headingConstraints.maxVelocity,
+                _headingConstraints.maxVelocity));
+    var headingGoal = new State(goalHeading, 0);
+
+    headingProfile.calculate(0, headingStart, headingGoal);
+
+    double translationTime = pathTimes[_pathSamples - 1];
+    double headingTime = headingProfile.totalTime();
+
+    // if the heading takes longer, hold at the goal until it's done
+    int holdSamples = headingTime > translationTime ? _pathSamples : 0;
+
+    int length = _pathSamples + holdSamples;
+
+    double[] times = new double[length];
+    double[] x = new double[length];
+    double[] y = new double[length];
+    double[] heading = new double[length];
+    double[] vx = new double[length];
+    double[] vy = new double[length];
+    double[] omega = new double[length];
+
+    for (int i = 0; i < length; i++) {
+      int pathIndex = Math.min(i, _pathSamples - 1);
+
+      times[i] =
+          i < _pathSamples
+              ? pathTimes[i]
+              : translationTime
+                  + (headingTime - translationTime) * (i - _pathSamples + 1) / holdSamples;
+
+      x[i] = _pathX[pathIndex];
+      y[i] = _pathY[pathIndex];
+
+      vx[i] = i < _pathSamples ? _pathSpeed[i] * _pathTangentX[i] : 0;
+      vy[i] = i < _pathSamples ? _pathSpeed[i] * _pathTangentY[i] : 0;
+
+      State headingState = headingProfile.calculate(times[i], headingStart, headingGoal);
+
+      heading[i] = headingState.position;
+      omega[i] = headingState.velocity;
+    }
+
+    return new TrajectoryFollower(
+        "Generated Trajectory",
+        times,
+        x,
+        y,
+        heading,
+        vx,
+        vy,
+        omega,
+        new double[length * _moduleCount],
+        new double[length * _moduleCount],
+        _moduleCount);
+  }
+
+  /**
+   * Generates a trajectory through intermediate waypoints like {@link #generate(Pose2d,
+   * ChassisSpeeds, List, Pose2d)}, but checked against a nav grid. The spline can swing wide of the
+   * straight legs between waypoints, such as when leaving against the current velocity or at a
+   * sharp corner, so when it runs into an obstacle the midpoint of the leg it strayed from is added
+   * as a waypoint and the trajectory is generated again. The legs should be clear, like the paths
+   * from {@link NavGrid#findPath(Translation2d, Translation2d)}.
+   *
+   * @param start The current pose.
+   * @param startSpeeds The current field-relative speeds.
+   * @param waypoints The translations to pass through on the way to the goal, in order.
+   * @param goal The goal pose.
+   * @param navGrid The nav grid to check the trajectory against.
+   * @return The trajectory, or null if no clear one was found.
+   */
+  public TrajectoryFollower generate(
+      Pose2d start,
+      ChassisSpeeds startSpeeds,
+      List<Translation2d> waypoints,
+      Pose2d goal,
+      NavGrid navGrid) {
+    List<Translation2d> knots = new ArrayList<>();
+
+    knots.add(start.getTranslation());
+    knots.addAll(waypoints);
+    knots.add(goal.getTranslation());
+
+    for (int i = 0; i <= _maxRefinements; i++) {
+      TrajectoryFollower trajectory =
+          generate(start, startSpeeds, knots.subList(1, knots.size() - 1), goal);
+
+      Pose2d[] poses = trajectory.getPoses();
+
+      int blocked = navGrid.findBlocked(poses);
+
+      if (blocked == -1) return trajectory;
+
+      Translation2d point = poses[blocked].getTranslation();
+
+      // the leg closest to where the trajectory was blocked
+      int leg = 0;
+      double legDistance = Double.MAX_VALUE;
+
+      for (int k = 0; k < knots.size() - 1; k++) {
+        double distance = distanceToSegment(point, knots.get(k), knots.get(k + 1));
+
+        if (distance < legDistance) {
+          leg = k;
+          legDistance = distance;
+        }
+      }
+
+      knots.add(leg + 1, knots.get(leg).interpolate(knots.get(leg + 1), 0.5));
+    }
+
+    return null;
+  }
+
+  // distance from a point to the segment between two others
+  private static double distanceToSegment(Translation2d point, Translation2d a, Translation2d b) {
+    double segmentX = b.getX() - a.getX();
+    double segmentY = b.getY() - a.getY();
+
+    double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+
+    double t =
+        lengthSquared == 0
+            ? 0
+            : MathUtil.clamp(
+                ((point.getX() - a.getX()) * segmentX + (point.getY() - a.getY()) * segmentY)
+                    / lengthSquared,
+                0,
+                1);
+
+    return Math.hypot(
+        a.getX() + t * segmentX - point.getX(), a.getY() + t * segmentY - point.getY());
+  }
+
+  // samples a quintic hermite spline from the start through the waypoints to the goal, storing
+  // points, unit tangents, curvatures and distances along the path
+  private void buildPath(
+      Pose2d start, ChassisSpeeds startSpeeds, List<Translation2d> waypoints, Pose2d goal) {
+    // the knots of the spline, skipping any that repeat the one before
+    double[] knotX = new double[waypoints.size() + 2];
+    double[] knotY = new double[waypoints.size() + 2];
+
+    int knots = 0;
+
+    knotX[knots] = start.getX();
+    knotY[knots++] = start.getY();
+
+    for (Translation2d waypoint : waypoints) {
+      double gap =
+          Math.hypot(waypoint.getX() - knotX[knots - 1], waypoint.getY() - knotY[knots - 1]);
+
+      if (gap < 1e-9) continue;
+
+      knotX[knots] = waypoint.getX();
+      knotY[knots++] = waypoint.getY();
+    }
+
+    // the goal is always the last knot, even if the last waypoint was already on it
+    if (knots > 1
+        && Math.hypot(goal.getX() - knotX[knots - 1], goal.getY() - knotY[knots - 1]) < 1e-9) {
+      knots--;
+    }
+
+    knotX[knots] = goal.getX();
+    knotY[knots++] = goal.getY();
+
+    int segments = knots - 1;
+
+    double[] segmentLength = new double[segments];
+    double[] segmentX = new double[segments];
+    double[] segmentY = new double[segments];
+
+    for (int k = 0; k < segments; k++) {
+      double dx = knotX[k + 1] - knotX[k];
+      double dy = knotY[k + 1] - knotY[k];
+
+      segmentLength[k] = Math.hypot(dx, dy);
+      segmentX[k] = segmentLength[k] == 0 ? 0 : dx / segmentLength[k];
+      segmentY[k] = segmentLength[k] == 0 ? 0 : dy / segmentLength[k];
+    }
+
+    // unit tangents at each knot
+    double[] knotTangentX = new double[knots];
+    double[] knotTangentY = new double[knots];
+
+    double startSpeed = Math.hypot(startSpeeds.vxMetersPerSecond, startSpeeds.vyMetersPerSecond);
+
+    // leave in the direction the robot is already moving, or straight at the next knot if it's not
+    knotTangentX[0] = segmentX[0];
+    knotTangentY[0] = segmentY[0];
+
+    if (startSpeed > 1e-3) {
+      knotTangentX[0] = startSpeeds.vxMetersPerSecond / startSpeed;
+      knotTangentY[0] = startSpeeds.vyMetersPerSecond / startSpeed;
+    }
+
+    for (int i = 1; i < segments; i++) {
+      double bisectorX = segmentX[i - 1] + segmentX[i];
+      double bisectorY = segmentY[i - 1] + segmentY[i];
+
+      double bisectorNorm = Math.hypot(bisectorX, bisectorY);
+
+      // a waypoint that doubles back is left in the direction of the next segment
+      knotTangentX[i] = bisectorNorm < 1e-9 ? segmentX[i] : bisectorX / bisectorNorm;
+      knotTangentY[i] = bisectorNorm < 1e-9 ? segmentY[i] : bisectorY / bisectorNorm;
+    }
+
+    knotTangentX[segments] = segmentX[segments - 1];
+    knotTangentY[segments] = segmentY[segments - 1];
+
+    double[][] cx = new double[segments][6];
+    double[][] cy = new double[segments][6];
+
+    for (int k = 0; k < segments; k++) {
+      double length = segmentLength[k];
+
+      quinticCoefficients(
+          knotX[k],
+          knotTangentX[k] * length,
+          0,
+          knotX[k + 1],
+          knotTangentX[k + 1] * length,
+          0,
+          cx[k]);
+      quinticCoefficients(
+          knotY[k],
+          knotTangentY[k] * length,
+          0,
+          knotY[k + 1],
+          knotTangentY[k + 1] * length,
+          0,
+          cy[k]);
+    }
+
+    for (int i = 0; i < _pathSamples; i++) {
+      double u = (double) i * segments / (_pathSamples - 1);
+
+      int k = Math.min((int) u, segments - 1);
+      double s = u - k;
+
+      _pathX[i] = evaluate(cx[k], s);
+      _pathY[i] = evaluate(cy[k], s);
+
+      double derivX = evaluateDerivative(cx[k], s);
+      double derivY = evaluateDerivative(cy[k], s);
+
+      double secondDerivX = evaluateSecondDerivative(cx[k], s);
+      double secondDerivY = evaluateSecondDerivative(cy[k], s);
+
+      double derivNorm = Math.hypot(derivX, derivY);
+
+      if (derivNorm < 1e-9) {
+        _pathTangentX[i] = segmentX[k];
+        _pathTangentY[i] = segmentY[k];
+        _pathCurvature[i] = 0;
+      } else {
+        _pathTangentX[i] = derivX / derivNorm;
+        _pathTangentY[i] = derivY / derivNorm;
+        _pathCurvature[i] =
+            (derivX * secondDerivY - derivY * secondDerivX) / (derivNorm * derivNorm * derivNorm);
+      }
+
+      _pathDistance[i] =
+          i == 0
+              ? 0
+              : _pathDistance[i - 1]
+                  + Math.hypot(_pathX[i] - _pathX[i - 1], _pathY[i] - _pathY[i - 1]);
+    }
+  }
+
+  // finds the fastest speed at each path point, sharing acceleration between speeding up and
+  // turning
+  private void parameterizePath(ChassisSpeeds startSpeeds) {
+    for (int i = 0; i < _pathSamples; i++) {
+      double curvature = Math.abs(_pathCurvature[i]);
+
+      _pathSpeed[i] =
+          curvature < 1e-9
+              ? _maxSpeed
+              : Math.min(_maxSpeed, Math.sqrt(_maxAcceleration / curvature));
+    }
+
+    // the part of the current velocity along the path, which can't be changed immediately
+    _pathSpeed[0] =
+        Math.min(
+            _pathSpeed[0],
+            Math.max(
+                0,
+                startSpeeds.vxMetersPerSecond * _pathTangentX[0]
+                    + startSpeeds.vyMetersPerSecond * _pathTangentY[0]));
+
+    _pathSpeed[_pathSamples - 1] = 0;
+
+    // forward pass limits speeding up
+    for (int i = 1; i < _pathSamples; i++) {
+      double ds = _pathDistance[i] - _pathDistance[i - 1];
+
+      _pathSpeed[i] =
+          Math.min(
+              _pathSpeed[i],
+              Math.sqrt(
+                  _pathSpeed[i - 1] * _pathSpeed[i - 1]
+                      + 2 * tangentialAcceleration(_pathSpeed[i - 1], _pathCurvature[i - 1]) * ds));
+    }
+
+    // backward pass limits slowing down
+    for (int i = _pathSamples - 2; i >= 0; i--) {
+      double ds = _pathDistance[i + 1] - _pathDistance[i];
+
+      _pathSpeed[i] =
+          Math.min(
+              _pathSpeed[i],
+              Math.sqrt(
+                  _pathSpeed[i + 1] * _pathSpeed[i + 1]
+                      + 2 * tangentialAcceleration(_pathSpeed[i + 1], _pathCurvature[i + 1]) * ds));
+    }
+  }
+
+  // the acceleration left along the path after what is needed to turn
+  private double tangentialAcceleration(double speed, double curvature) {
+    double centripetal = speed * speed * curvature;
+
+    return Math.sqrt(Math.max(0, _maxAcceleration * _maxAcceleration - centripetal * centripetal));
+  }
+
+  // polynomial coefficients (lowest order first) of a quintic hermite spline over [0, 1]
+  private static double[] quinticCoefficients(
+      double p0, double v0, double a0, double p1, double v1, double a1, double[] output) {
+    output[0] = p0;
+    output[1] = v0;
+    output[2] = a0 / 2;
+    output[3] = -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1;
+    output[4] = 15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1;
+    output[5] = -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1;
+
+    return output;
+  }
+
+  private static double evaluate(double[] c, double s) {
+    return c[0] + s * (c[1] + s * (c[2] + s * (c[3] + s * (c[4] + s * c[5]))));
+  }
+
+  private static double evaluateDerivative(double[] c, double s) {
+    return c[1] + s * (2 * c[2] + s * (3 * c[3] + s * (4 * c[4] + s * 5 * c[5])));
+  }
+
+  private static double evaluateSecondDerivative(double[] c, double s) {
+    return 2 * c[2] + s * (6 * c[3] + s * (12 * c[4] + s * 20 * c[5]));
+  }
+}
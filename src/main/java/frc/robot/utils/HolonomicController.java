@@ -3,15 +3,14 @@ package frc.robot.utils;
 import static edu.wpi.first.units.Units.*;
 
 import dev.doglog.DogLog;
-import edu.wpi.first.math.VecBuilder;
-import edu.wpi.first.math.Vector;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
-import edu.wpi.first.math.numbers.N2;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
 import edu.wpi.first.units.measure.Distance;
 import frc.robot.Constants.SwerveConstants;
 
@@ -34,9 +33,18 @@ public class HolonomicController {
               SwerveConstants.maxAngularSpeed.in(RadiansPerSecond),
               SwerveConstants.maxAngularAcceleration.in(RadiansPerSecondPerSecond)));
 
+  // profiles the remaining translation to estimate time to arrival
+  private final TrapezoidProfile _arrivalProfile =
+      new TrapezoidProfile(_translationProfiled.getConstraints());
+
+  private final State _arrivalStart = new State();
+  private final State _arrivalGoal = new State();
+
   private final PIDController _translationController = new PIDController(0, 0, 0);
   private final PIDController _headingController = new PIDController(0, 0, 0);
 
+  private boolean _loggingEnabled = true;
+
   public HolonomicController() {
     _headingProfiled.enableContinuousInput(-Math.PI, Math.PI);
     _headingController.enableContinuousInput(-Math.PI, Math.PI);
@@ -72,17 +80,63 @@ public class HolonomicController {
     return _translationController.atSetpoint() && _headingController.atSetpoint();
   }
 
+  /**
+   * Sets the gains used to correct trajectory following.
+   *
+   * @param translationkP Meters per second of correction per meter of translation error.
+   * @param headingkP Radians per second of correction per radian of heading error.
+   */
+  public void setTrajectoryGains(double translationkP, double headingkP) {
+    _translationController.setP(translationkP);
+    _headingController.setP(headingkP);
+  }
+
+  /** Sets whether the goal and reference poses are logged on every {@code calculate} call. */
+  public void setLoggingEnabled(boolean enabled) {
+    _loggingEnabled = enabled;
+  }
+
+  /**
+   * Estimates how long the translation profile takes to reach a goal pose from the current pose and
+   * speeds, along a straight line.
+   *
+   * @param currentPose The current pose of the chassis.
+   * @param goalPose The goal pose.
+   * @param currentSpeeds The current field-relative chassis speeds.
+   * @return The time to arrival in seconds.
+   */
+  public double timeToGoal(Pose2d currentPose, Pose2d goalPose, ChassisSpeeds currentSpeeds) {
+    // vector where tail is at goal pose and head is at current pose
+    double dx = currentPose.getX() - goalPose.getX();
+    double dy = currentPose.getY() - goalPose.getY();
+
+    double distance = Math.hypot(dx, dy);
+
+    if (distance == 0) return 0;
+
+    _arrivalStart.position = distance;
+    _arrivalStart.velocity =
+        (dx * currentSpeeds.vxMetersPerSecond + dy * currentSpeeds.vyMetersPerSecond) / distance;
+
+    _arrivalProfile.calculate(0, _arrivalStart, _arrivalGoal);
+
+    return _arrivalProfile.totalTime();
+  }
+
   /** Resets the motion profile at the current drive pose and field-relative chassis speeds. */
   public void reset(Pose2d currentPose, Pose2d goalPose, ChassisSpeeds currentSpeeds) {
     // vector where tail is at goal pose and head is at current pose
-    Vector<N2> difference =
-        VecBuilder.fill(currentPose.getX() - goalPose.getX(), currentPose.getY() - goalPose.getY());
+    double dx = currentPose.getX() - goalPose.getX();
+    double dy = currentPose.getY() - goalPose.getY();
+
+    double distance = Math.hypot(dx, dy);
 
     _translationProfiled.reset(
-        difference.norm(),
-        difference.dot(
-                VecBuilder.fill(currentSpeeds.vxMetersPerSecond, currentSpeeds.vyMetersPerSecond))
-            / difference.norm());
+        distance,
+        distance == 0
+            ? 0
+            : (dx * currentSpeeds.vxMetersPerSecond + dy * currentSpeeds.vyMetersPerSecond)
+                / distance);
 
     _headingProfiled.reset(
         currentPose.getRotation().getRadians(), currentSpeeds.omegaRadiansPerSecond);
@@ -98,28 +152,47 @@ public class HolonomicController {
    *     next timestep.
    */
   public ChassisSpeeds calculate(Pose2d currentPose, Pose2d goalPose) {
+    return calculate(currentPose, goalPose, new ChassisSpeeds());
+  }
+
+  /**
+   * Samples the motion profiles at the next timestep, without allocating.
+   *
+   * @param currentPose The current pose of the chassis necessary for PID.
+   * @param goalPose The desired goal pose (end of motion profile) of the chassis.
+   * @param output The chassis speeds to write the result to.
+   * @return The output chassis speeds.
+   * @see #calculate(Pose2d, Pose2d)
+   */
+  public ChassisSpeeds calculate(Pose2d currentPose, Pose2d goalPose, ChassisSpeeds output) {
     // vector where tail is at goal pose and head is at current pose
-    Vector<N2> difference =
-        VecBuilder.fill(currentPose.getX() - goalPose.getX(), currentPose.getY() - goalPose.getY());
+    double dx = currentPose.getX() - goalPose.getX();
+    double dy = currentPose.getY() - goalPose.getY();
+
+    double distance = Math.hypot(dx, dy);
 
     // sample the next timestep in the profile
-    double velMag = _translationProfiled.calculate(difference.norm(), 0);
+    double pidVelMag = _translationProfiled.calculate(distance, 0);
+    double velMag = _translationProfiled.getSetpoint().velocity;
 
-    // get velocity from profile and velocity from pid
-    Vector<N2> vel = difference.unit().times(_translationProfiled.getSetpoint().velocity);
-    Vector<N2> pidVel = difference.unit().times(velMag);
+    // unit vector of the difference, or no direction if already at the goal
+    double unitX = distance == 0 ? 0 : dx / distance;
+    double unitY = distance == 0 ? 0 : dy / distance;
 
     double pidOmega =
         _headingProfiled.calculate(
             currentPose.getRotation().getRadians(), goalPose.getRotation().getRadians());
 
-    DogLog.log("Auto/Controller Goal Pose", goalPose);
-    DogLog.log("Auto/Controller Reference", currentPose);
+    if (_loggingEnabled) {
+      DogLog.log("Auto/Controller Goal Pose", goalPose);
+      DogLog.log("Auto/Controller Reference", currentPose);
+    }
 
-    return new ChassisSpeeds(
-        vel.get(0) + pidVel.get(0),
-        vel.get(1) + pidVel.get(1),
-        _headingProfiled.getSetpoint().velocity + pidOmega);
+    output.vxMetersPerSecond = unitX * (velMag + pidVelMag);
+    output.vyMetersPerSecond = unitY * (velMag + pidVelMag);
+    output.omegaRadiansPerSecond = _headingProfiled.getSetpoint().velocity + pidOmega;
+
+    return output;
   }
 
   /**
@@ -133,25 +206,86 @@ public class HolonomicController {
    */
   public ChassisSpeeds calculate(
       ChassisSpeeds currentSpeeds, Pose2d desiredPose, Pose2d currentPose) {
+    return calculate(currentSpeeds, desiredPose, currentPose, new ChassisSpeeds());
+  }
+
+  /**
+   * Modifies some reference chassis speeds the drive is currently traveling at to bring the drive
+   * closer to a desired pose, without allocating.
+   *
+   * @param currentSpeeds The field-relative reference speeds the drive is traveling at.
+   * @param desiredPose The desired pose.
+   * @param currentPose The current pose of the drive.
+   * @param output The chassis speeds to write the result to, can be the same as the current speeds.
+   * @return The output chassis speeds.
+   * @see #calculate(ChassisSpeeds, Pose2d, Pose2d)
+   */
+  public ChassisSpeeds calculate(
+      ChassisSpeeds currentSpeeds, Pose2d desiredPose, Pose2d currentPose, ChassisSpeeds output) {
+    if (_loggingEnabled) DogLog.log("Auto/Controller Goal Pose", desiredPose);
+
+    return correct(
+        currentSpeeds,
+        desiredPose.getX(),
+        desiredPose.getY(),
+        desiredPose.getRotation().getRadians(),
+        currentPose,
+        output);
+  }
+
+  /**
+   * Modifies some reference chassis speeds the drive is currently traveling at to bring the drive
+   * closer to a desired pose, given as primitives so that no pose has to be allocated. Only the
+   * reference pose is logged.
+   *
+   * @param currentSpeeds The field-relative reference speeds the drive is traveling at.
+   * @param desiredX The desired x position in meters.
+   * @param desiredY The desired y position in meters.
+   * @param desiredHeading The desired heading in radians.
+   * @param currentPose The current pose of the drive.
+   * @param output The chassis speeds to write the result to, can be the same as the current speeds.
+   * @return The output chassis speeds.
+   * @see #calculate(ChassisSpeeds, Pose2d, Pose2d)
+   */
+  public ChassisSpeeds calculate(
+      ChassisSpeeds currentSpeeds,
+      double desiredX,
+      double desiredY,
+      double desiredHeading,
+      Pose2d currentPose,
+      ChassisSpeeds output) {
+    return correct(currentSpeeds, desiredX, desiredY, desiredHeading, currentPose, output);
+  }
+
+  private ChassisSpeeds correct(
+      ChassisSpeeds currentSpeeds,
+      double desiredX,
+      double desiredY,
+      double desiredHeading,
+      Pose2d currentPose,
+      ChassisSpeeds output) {
     // vector where tail is at current pose and head is at desired pose
-    Vector<N2> difference =
-        VecBuilder.fill(
-            desiredPose.getX() - currentPose.getX(), desiredPose.getY() - currentPose.getY());
-
-    // find linear speed scalar returned by PID and set the length of the difference vector to the
-    // scalar
-    // this is so velocity is pointing in the right direction
-    Vector<N2> vel =
-        difference.unit().times(_translationController.calculate(difference.norm(), 0));
-
-    DogLog.log("Auto/Controller Goal Pose", desiredPose);
-    DogLog.log("Auto/Controller Reference", currentPose);
-
-    return currentSpeeds.plus(
-        new ChassisSpeeds(
-            vel.get(0),
-            vel.get(1),
-            _headingController.calculate(
-                currentPose.getRotation().getRadians(), desiredPose.getRotation().getRadians())));
+    double dx = desiredX - currentPose.getX();
+    double dy = desiredY - currentPose.getY();
+
+    double distance = Math.hypot(dx, dy);
+
+    // find linear speed scalar returned by PID and scale the unit difference vector by it
+    // the distance is the setpoint so that the correction points towards the desired pose
+    double velMag = _translationController.calculate(0, distance);
+
+    double unitX = distance == 0 ? 0 : dx / distance;
+    double unitY = distance == 0 ? 0 : dy / distance;
+
+    double omega =
+        _headingController.calculate(currentPose.getRotation().getRadians(), desiredHeading);
+
+    if (_loggingEnabled) DogLog.log("Auto/Controller Reference", currentPose);
+
+    output.vxMetersPerSecond = currentSpeeds.vxMetersPerSecond + unitX * velMag;
+    output.vyMetersPerSecond = currentSpeeds.vyMetersPerSecond + unitY * velMag;
+    output.omegaRadiansPerSecond = currentSpeeds.omegaRadiansPerSecond + omega;
+
+    return output;
   }
 }
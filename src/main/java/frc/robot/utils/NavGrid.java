@@ -0,0 +1,479 @@
+package frc.robot.utils;
+
+import static edu.wpi.first.units.Units.*;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.Constants.FieldConstants;
+import frc.robot.Constants.SwerveConstants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An occupancy grid of the field, used to find collision-free paths around field obstacles. The
+ * grid is built once at startup, and the search buffers are re-used between queries.
+ */
+public class NavGrid {
+  private static final int[] _dx = {1, -1, 0, 0, 1, 1, -1, -1};
+  private static final int[] _dy = {0, 0, 1, -1, 1, -1, 1, -1};
+
+  private final double _resolution;
+
+  private final int _columns;
+  private final int _rows;
+
+  private final boolean[] _blocked;
+
+  // a* buffers
+  private final double[] _gScore;
+  private final double[] _fScore;
+  private final int[] _cameFrom;
+  private final int[] _searchIds;
+  private final boolean[] _closed;
+
+  private final int[] _heap;
+  private final int[] _heapIndex;
+  private int _heapSize;
+
+  private int _searchId = 0;
+
+  /**
+   * Creates a new NavGrid.
+   *
+   * @param fieldLength The length of the field in meters (x).
+   * @param fieldWidth The width of the field in meters (y).
+   * @param resolution The side length of a single grid cell in meters.
+   * @param inflation How far to grow each obstacle by in meters, should be around the robot's
+   *     half-width.
+   * @param obstacles Convex obstacle polygons, with vertices in either winding order.
+   */
+  public NavGrid(
+      double fieldLength,
+      double fieldWidth,
+      double resolution,
+      double inflation,
+      List<Translation2d[]> obstacles) {
+    _resolution = resolution;
+
+    _columns = (int) Math.ceil(fieldLength / resolution);
+    _rows = (int) Math.ceil(fieldWidth / resolution);
+
+    int cells = _columns * _rows;
+
+    _blocked = new boolean[cells];
+
+    _gScore = new double[cells];
+    _fScore = new double[cells];
+    _cameFrom = new int[cells];
+    _searchIds = new int[cells];
+    _closed = new boolean[cells];
+
+    _heap = new int[cells];
+    _heapIndex = new int[cells];
+
+    for (int row = 0; row < _rows; row++) {
+      for (int column = 0; column < _columns; column++) {
+        double x = (column + 0.5) * resolution;
+        double y = (row + 0.5) * resolution;
+
+        for (Translation2d[] obstacle : obstacles) {
+          if (distance(obstacle, x, y) <= inflation) {
+            _blocked[index(column, row)] = true;
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /** Builds a nav grid with the reefs and the barge as obstacles. */
+  public static NavGrid buildFromConstants() {
+    List<Translation2d[]> obstacles = new ArrayList<>();
+
+    Translation2d redReefCenter =
+        FieldConstants.reefCenter.rotateAround(FieldConstants.fieldCenter, Rotation2d.k180deg);
+
+    obstacles.add(hexagon(FieldConstants.reefCenter, FieldConstants.reefApothem.in(Meters)));
+    obstacles.add(hexagon(redReefCenter, FieldConstants.reefApothem.in(Meters)));
+
+    double bargeHalfWidth = FieldConstants.bargeHalfWidth.in(Meters);
+    double fieldWidth = FieldConstants.tagLayout.getFieldWidth();
+
+    obstacles.add(
+        new Translation2d[] {
+          new Translation2d(FieldConstants.fieldCenter.getX() - bargeHalfWidth, 0),
+          new Translation2d(FieldConstants.fieldCenter.getX() + bargeHalfWidth, 0),
+          new Translation2d(FieldConstants.fieldCenter.getX() + bargeHalfWidth, fieldWidth),
+          new Translation2d(FieldConstants.fieldCenter.getX() - bargeHalfWidth, fieldWidth)
+        });
+
+    return new NavGrid(
+        FieldConstants.tagLayout.getFieldLength(),
+        fieldWidth,
+        SwerveConstants.navGridResolution.in(Meters),
+        SwerveConstants.navGridInflation.in(Meters),
+        obstacles);
+  }
+
+  // a regular hexagon with flat faces towards the alliance walls
+  private static Translation2d[] hexagon(Translation2d center, double apothem) {
+    Translation2d[] vertices = new Translation2d[6];
+
+    double circumradius = apothem / Math.cos(Math.PI / 6);
+
+    for (int i = 0; i < 6; i++) {
+      double angle = Math.PI / 6 + i * Math.PI / 3;
+
+      vertices[i] =
+          new Translation2d(
+              center.getX() + circumradius * Math.cos(angle),
+              center.getY() + circumradius * Math.sin(angle));
+    }
+
+    return vertices;
+  }
+
+  // distance from a point to a convex polygon, 0 if the point is inside
+  private static double distance(Translation2d[] polygon, double x, double y) {
+    double minDistance = Double.MAX_VALUE;
+
+    boolean hasPositive = false;
+    boolean hasNegative = false;
+
+    for (int i = 0; i < polygon.length; i++) {
+      Translation2d a = polygon[i];
+      Translation2d b = polygon[(i + 1) % polygon.length];
+
+      double edgeX = b.getX() - a.getX();
+      double edgeY = b.getY() - a.getY();
+
+      double cross = edgeX * (y - a.getY()) - edgeY * (x - a.getX());
+
+      if (cross > 0) hasPositive = true;
+      if (cross < 0) hasNegative = true;
+
+      // closest point on the edge to the point
+      double t =
+          ((x - a.getX()) * edgeX + (y - a.getY()) * edgeY) / (edgeX * edgeX + edgeY * edgeY);
+      t = Math.max(0, Math.min(1, t));
+
+      minDistance =
+          Math.min(minDistance, Math.hypot(a.getX() + t * edgeX - x, a.getY() + t * edgeY - y));
+    }
+
+    // the point is on the same side of every edge
+    if (!(hasPositive && hasNegative)) return 0;
+
+    return minDistance;
+  }
+
+  private int index(int column, int row) {
+    return row * _columns + column;
+  }
+
+  private int column(double x) {
+    return (int) Math.floor(x / _resolution);
+  }
+
+  private int row(double y) {
+    return (int) Math.floor(y / _resolution);
+  }
+
+  private boolean inBounds(int column, int row) {
+    return column >= 0 && column < _columns && row >= 0 && row < _rows;
+  }
+
+  private Translation2d cellCenter(int index) {
+    return new Translation2d(
+        (index % _columns + 0.5) * _resolution, (index / _columns + 0.5) * _resolution);
+  }
+
+  /** Whether the given field position is inside of an (inflated) obstacle or out of the field. */
+  public boolean isBlocked(double x, double y) {
+    int column = column(x);
+    int row = row(y);
+
+    if (!inBounds(column, row)) return true;
+
+    return _blocked[index(column, row)];
+  }
+
+  /** Whether a straight line between two field positions avoids all obstacles. */
+  public boolean isClear(Translation2d start, Translation2d end) {
+    double length = start.getDistance(end);
+
+    int steps = (int) Math.ceil(length / (_resolution / 2));
+
+    for (int i = 0; i <= steps; i++) {
+      double t = steps == 0 ? 0 : (double) i / steps;
+
+      if (isBlocked(
+          start.getX() + t * (end.getX() - start.getX()),
+          start.getY() + t * (end.getY() - start.getY()))) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Finds where a path sampled as consecutive poses, such as a trajectory's, first runs into an
+   * obstacle. A start or goal that is already inside an obstacle's inflation can only be left or
+   * reached through it, so blocked poses at either end of the path are allowed.
+   *
+   * @param poses The poses along the path, in order.
+   * @return The index of the first pose in the first blocked pair, or -1 if the path is clear.
+   */
+  public int findBlocked(Pose2d[] poses) {
+    int first = 0;
+    int last = poses.length - 1;
+
+    while (first < last && isBlocked(poses[first].getX(), poses[first].getY())) first++;
+    while (last > first && isBlocked(poses[last].getX(), poses[last].getY())) last--;
+
+    for (int i = first; i < last; i++) {
+      if (!isClear(poses[i].getTranslation(), poses[i + 1].getTranslation())) return i;
+    }
+
+    return -1;
+  }
+
+  // finds the closest cell that is not blocked, or -1 if there are none
+  private int nearestFree(Translation2d position) {
+    int column = Math.max(0, Math.min(_columns - 1, column(position.getX())));
+    int row = Math.max(0, Math.min(_rows - 1, row(position.getY())));
+
+    if (!_blocked[index(column, row)]) return index(column, row);
+
+    // search in growing square rings around the cell
+    for (int radius = 1; radius < Math.max(_columns, _rows); radius++) {
+      int closest = -1;
+      double closestDistance = Double.MAX_VALUE;
+
+      for (int dy = -radius; dy <= radius; dy++) {
+        for (int dx = -radius; dx <= radius; dx++) {
+          if (Math.abs(dx) != radius && Math.abs(dy) != radius) continue;
+          if (!inBounds(column + dx, row + dy)) continue;
+
+          int index = index(column + dx, row + dy);
+
+          if (_blocked[index]) continue;
+
+          double distance = cellCenter(index).getDistance(position);
+
+          if (distance < closestDistance) {
+            closest = index;
+            closestDistance = distance;
+          }
+        }
+      }
+
+      if (closest != -1) return closest;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Finds a collision-free path between two field positions. The path is smoothed so that only the
+   * corners needed to go around obstacles are kept.
+   *
+   * @param start The start position.
+   * @param goal The goal position.
+   * @return The waypoints to drive through, excluding the start and always ending at the goal. If
+   *     no path could be found, this only contains the goal.
+   */
+  public List<Translation2d> findPath(Translation2d start, Translation2d goal) {
+    List<Translation2d> waypoints = new ArrayList<>();
+
+    if (isClear(start, goal)) {
+      waypoints.add(goal);
+      return waypoints;
+    }
+
+    int startIndex = nearestFree(start);
+    int goalIndex = nearestFree(goal);
+
+    if (startIndex == -1 || goalIndex == -1 || !search(startIndex, goalIndex)) {
+      waypoints.add(goal);
+      return waypoints;
+    }
+
+    // walk back from the goal to get the cells in order
+    List<Translation2d> cells = new ArrayList<>();
+
+    for (int index = goalIndex; index != startIndex; index = _cameFrom[index]) {
+      cells.add(cellCenter(index));
+    }
+
+    cells.add(cellCenter(startIndex));
+
+    // the path ends at the goal and not the center of its cell
+    cells.set(0, isBlocked(goal.getX(), goal.getY()) ? cells.get(0) : goal);
+
+    // the path starts at the robot if the robot is not inside an obstacle
+    Translation2d anchor =
+        isBlocked(start.getX(), start.getY()) ? cells.get(cells.size() - 1) : start;
+
+    if (anchor != start) waypoints.add(anchor);
+
+    // only keep the corners of the path (string pulling)
+    for (int i = cells.size() - 2; i > 0; i--) {
+      if (!isClear(anchor, cells.get(i - 1))) {
+        anchor = cells.get(i);
+        waypoints.add(anchor);
+      }
+    }
+
+    if (!cells.get(0).equals(goal)) waypoints.add(cells.get(0));
+
+    waypoints.add(goal);
+
+    return waypoints;
+  }
+
+  // a* search over the grid, returns whether the goal was reached
+  private boolean search(int startIndex, int goalIndex) {
+    _searchId++;
+    _heapSize = 0;
+
+    Arrays.fill(_closed, false);
+
+    visit(startIndex);
+    _gScore[startIndex] = 0;
+    _cameFrom[startIndex] = startIndex;
+    push(startIndex, heuristic(startIndex, goalIndex));
+
+    while (_heapSize > 0) {
+      int current = pop();
+
+      if (current == goalIndex) return true;
+
+      _closed[current] = true;
+
+      int column = current % _columns;
+      int row = current / _columns;
+
+      for (int i = 0; i < 8; i++) {
+        int nextColumn = column + _dx[i];
+        int nextRow = row + _dy[i];
+
+        if (!inBounds(nextColumn, nextRow)) continue;
+
+        int next = index(nextColumn, nextRow);
+
+        if (_blocked[next] || _closed[next]) continue;
+
+        // don't cut the corners of obstacles when moving diagonally
+        boolean isDiagonal = i >= 4;
+
+        if (isDiagonal && (_blocked[index(nextColumn, row)] || _blocked[index(column, nextRow)])) {
+          continue;
+        }
+
+        double gScore = _gScore[current] + (isDiagonal ? Math.sqrt(2) : 1);
+
+        if (_searchIds[next] != _searchId) {
+          visit(next);
+        } else if (gScore >= _gScore[next]) {
+          continue;
+        }
+
+        _gScore[next] = gScore;
+        _cameFrom[next] = current;
+
+        double fScore = gScore + heuristic(next, goalIndex);
+
+        if (_heapIndex[next] == -1) push(next, fScore);
+        else decrease(next, fScore);
+      }
+    }
+
+    return false;
+  }
+
+  // octile distance in cells
+  private double heuristic(int from, int to) {
+    int dx = Math.abs(from % _columns - to % _columns);
+    int dy = Math.abs(from / _columns - to / _columns);
+
+    return Math.max(dx, dy) + (Math.sqrt(2) - 1) * Math.min(dx, dy);
+  }
+
+  // lazily resets the search state of a cell
+  private void visit(int index) {
+    _searchIds[index] = _searchId;
+    _gScore[index] = Double.MAX_VALUE;
+    _heapIndex[index] = -1;
+  }
+
+  // binary min-heap keyed on f score
+  private void push(int index, double fScore) {
+    _fScore[index] = fScore;
+    _heap[_heapSize] = index;
+    _heapIndex[index] = _heapSize;
+    _heapSize++;
+
+    siftUp(_heapSize - 1);
+  }
+
+  private void decrease(int index, double fScore) {
+    _fScore[index] = fScore;
+
+    siftUp(_heapIndex[index]);
+  }
+
+  private int pop() {
+    int top = _heap[0];
+
+    _heapSize--;
+    _heapIndex[top] = -1;
+
+    if (_heapSize > 0) {
+      _heap[0] = _heap[_heapSize];
+      _heapIndex[_heap[0]] = 0;
+
+      siftDown(0);
+    }
+
+    return top;
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+
+      if (_fScore[_heap[parent]] <= _fScore[_heap[position]]) break;
+
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    while (true) {
+      int left = 2 * position + 1;
+      int right = left + 1;
+      int smallest = position;
+
+      if (left < _heapSize && _fScore[_heap[left]] < _fScore[_heap[smallest]]) smallest = left;
+      if (right < _heapSize && _fScore[_heap[right]] < _fScore[_heap[smallest]]) smallest = right;
+
+      if (smallest == position) break;
+
+      swap(position, smallest);
+      position = smallest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    int temp = _heap[a];
+
+    _heap[a] = _heap[b];
+    _heap[b] = temp;
+
+    _heapIndex[_heap[a]] = a;
+    _heapIndex[_heap[b]] = b;
+  }
+}
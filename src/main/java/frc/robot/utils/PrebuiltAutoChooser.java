@@ -0,0 +1,98 @@
+package frc.robot.utils;
+
+import choreo.auto.AutoRoutine;
+import edu.wpi.first.util.sendable.Sendable;
+import edu.wpi.first.util.sendable.SendableBuilder;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * An auto chooser that builds the selected routine ahead of time, while disabled, instead of in the
+ * first cycles of auto. Enabling then only has to schedule the already built routine.
+ */
+public class PrebuiltAutoChooser implements Sendable {
+  private static final String _noneName = "Nothing";
+
+  private final SendableChooser<String> _chooser = new SendableChooser<>();
+
+  private final Map<String, Supplier<AutoRoutine>> _routines = new HashMap<>();
+
+  // what the current routine was built for, null if it needs to be (re)built
+  private String _builtName = null;
+  private Optional<Alliance> _builtAlliance = Optional.empty();
+
+  private Command _builtCommand = Commands.none();
+
+  public PrebuiltAutoChooser() {
+    _chooser.setDefaultOption(_noneName, _noneName);
+  }
+
+  /** Adds a routine to the chooser. */
+  public void addRoutine(String name, Supplier<AutoRoutine> routine) {
+    _routines.put(name, routine);
+    _chooser.addOption(name, name);
+  }
+
+  /**
+   * Builds the selected routine if the selection or alliance has changed since it was last built.
+   * This should be called periodically while disabled.
+   */
+  public void update() {
+    String selected = _chooser.getSelected();
+    Optional<Alliance> alliance = DriverStation.getAlliance();
+
+    if (selected.equals(_builtName) && alliance.equals(_builtAlliance)) return;
+
+    _builtCommand = buildRoutine(selected);
+
+    _builtName = selected;
+    _builtAlliance = alliance;
+  }
+
+  /** The names of all added routines. */
+  public Set<String> getRoutineNames() {
+    return _routines.keySet();
+  }
+
+  /**
+   * Builds a routine's command now, for the current alliance.
+   *
+   * @param name The name of the routine.
+   * @return The routine's command, or a command that does nothing if there is no such routine.
+   */
+  public Command buildRoutine(String name) {
+    var routine = _routines.get(name);
+
+    return routine == null ? Commands.none() : routine.get().cmd().withName(name);
+  }
+
+  /**
+   * Schedules the pre-built routine. A routine can only be run once, so it gets rebuilt on the next
+   * update.
+   */
+  public Command selectedCommandScheduler() {
+    return Commands.defer(
+        () -> {
+          // doesn't build anything unless the selection changed since the robot was disabled
+          update();
+
+          _builtName = null;
+
+          return _builtCommand.asProxy();
+        },
+        Set.of());
+  }
+
+  @Override
+  public void initSendable(SendableBuilder builder) {
+    _chooser.initSendable(builder);
+  }
+}
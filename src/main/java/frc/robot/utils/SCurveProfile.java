@@ -0,0 +1,74 @@
+package frc.robot.utils;
+
+/**
+ * Timing of rest to rest jerk-limited (s-curve) motion profiles, which is what motion magic runs
+ * when given a jerk.
+ *
+ * <p>Dividing a profile's max velocity, acceleration and jerk by {@code s}, {@code s^2} and {@code
+ * s^3} stretches it in time by exactly {@code s} without changing its shape, which is how multiple
+ * axes are made to finish together.
+ */
+public final class SCurveProfile {
+  private SCurveProfile() {}
+
+  /**
+   * The time a rest to rest s-curve profile takes to cover a distance.
+   *
+   * @param distance The distance to move, in any sign.
+   * @param maxVelocity The max velocity.
+   * @param maxAcceleration The max acceleration.
+   * @param maxJerk The max jerk, which can be infinite for a trapezoid profile.
+   * @return The time in seconds.
+   */
+  public static double time(
+      double distance, double maxVelocity, double maxAcceleration, double maxJerk) {
+    distance = Math.abs(distance);
+
+    if (distance == 0) return 0;
+
+    double accelTime = accelTime(maxVelocity, maxAcceleration, maxJerk);
+
+    // cruises at max velocity
+    if (distance >= maxVelocity * accelTime) {
+      return 2 * accelTime + (distance - maxVelocity * accelTime) / maxVelocity;
+    }
+
+    // peaks below max velocity, first assuming max acceleration is still reached
+    double jerkTime = maxAcceleration / maxJerk;
+
+    double peakVelocity =
+        maxAcceleration
+            / 2
+            * (-jerkTime + Math.sqrt(jerkTime * jerkTime + 4 * distance / maxAcceleration));
+
+    // never reaches max acceleration either
+    if (peakVelocity < maxAcceleration * jerkTime) {
+      peakVelocity = Math.cbrt(distance * distance * maxJerk / 4);
+    }
+
+    return 2 * accelTime(peakVelocity, maxAcceleration, maxJerk);
+  }
+
+  /**
+   * The scale {@code s} to slow a profile down by so that it takes a longer time.
+   *
+   * @param profileTime The time the profile takes at its max constraints.
+   * @param time The time it should take instead.
+   * @return The scale, 1 if the profile barely moves and shouldn't be slowed down.
+   */
+  public static double scale(double profileTime, double time) {
+    if (profileTime < 1e-3 || time <= profileTime) return 1;
+
+    return time / profileTime;
+  }
+
+  // time to accelerate from rest to a velocity
+  private static double accelTime(double velocity, double maxAcceleration, double maxJerk) {
+    double jerkTime = maxAcceleration / maxJerk;
+
+    // reaches max acceleration
+    if (velocity >= maxAcceleration * jerkTime) return velocity / maxAcceleration + jerkTime;
+
+    return 2 * Math.sqrt(velocity / maxJerk);
+  }
+}
@@ -0,0 +1,168 @@
+package frc.robot.utils;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Detects wheel slip and collisions from the drive state. Slip is found when the module velocities
+ * don't agree with a single rigid-body motion (the least-squares residual of the kinematic fit is
+ * high), or when a module keeps drawing a lot of current without moving, which a hard launch from
+ * rest only does briefly. Collisions are found from spikes in the gyro's horizontal acceleration.
+ */
+public class SlipDetector {
+  private final int _moduleCount;
+
+  // module locations relative to their centroid
+  private final double[] _moduleX;
+  private final double[] _moduleY;
+
+  private final double _radiusSquaredSum;
+
+  private final double _residualThreshold;
+  private final double _stallCurrent;
+  private final double _stallSpeed;
+  private final double _stallTime;
+  private final double _collisionAcceleration;
+
+  // when the modules started stalling, NaN if they aren't
+  private double _stallStartTime = Double.NaN;
+
+  private volatile double _residual = 0;
+
+  private volatile double _lastSlipTime = Double.NEGATIVE_INFINITY;
+  private volatile double _lastCollisionTime = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Creates a new SlipDetector.
+   *
+   * @param moduleLocations The locations of the modules relative to the robot center in meters.
+   * @param residualThreshold The RMS module velocity residual in meters per second above which the
+   *     wheels are considered slipping.
+   * @param stallCurrent The drive current in amps above which a slow module is considered pushing.
+   * @param stallSpeed The module speed in meters per second below which a module is considered
+   *     slow.
+   * @param stallTime How long in seconds a module has to be pushing before it's considered
+   *     slipping.
+   * @param collisionAcceleration The horizontal acceleration in g above which the robot is
+   *     considered to have collided with something.
+   */
+  public SlipDetector(
+      Translation2d[] moduleLocations,
+      double residualThreshold,
+      double stallCurrent,
+      double stallSpeed,
+      double stallTime,
+      double collisionAcceleration) {
+    _moduleCount = moduleLocations.length;
+
+    double centroidX = 0;
+    double centroidY = 0;
+
+    for (Translation2d location : moduleLocations) {
+      centroidX += location.getX() / _moduleCount;
+      centroidY += location.getY() / _moduleCount;
+    }
+
+    _moduleX = new double[_moduleCount];
+    _moduleY = new double[_moduleCount];
+
+    double radiusSquaredSum = 0;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      _moduleX[i] = moduleLocations[i].getX() - centroidX;
+      _moduleY[i] = moduleLocations[i].getY() - centroidY;
+
+      radiusSquaredSum += _moduleX[i] * _moduleX[i] + _moduleY[i] * _moduleY[i];
+    }
+
+    _radiusSquaredSum = radiusSquaredSum;
+
+    _residualThreshold = residualThreshold;
+    _stallCurrent = stallCurrent;
+    _stallSpeed = stallSpeed;
+    _stallTime = stallTime;
+    _collisionAcceleration = collisionAcceleration;
+  }
+
+  /**
+   * Updates the detector with the latest drive state.
+   *
+   * @param moduleStates The measured module states.
+   * @param driveCurrents The drive motor currents in amps, in the same order as the module states.
+   * @param accelerationX The gyro's x acceleration in g.
+   * @param accelerationY The gyro's y acceleration in g.
+   * @param timestamp The timestamp of the state in seconds.
+   */
+  public void update(
+      SwerveModuleState[] moduleStates,
+      double[] driveCurrents,
+      double accelerationX,
+      double accelerationY,
+      double timestamp) {
+    double meanVx = 0;
+    double meanVy = 0;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      meanVx += moduleVx(moduleStates[i]) / _moduleCount;
+      meanVy += moduleVy(moduleStates[i]) / _moduleCount;
+    }
+
+    // least-squares rigid-body fit of the module velocities
+    double omega = 0;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      omega +=
+          (_moduleX[i] * moduleVy(moduleStates[i]) - _moduleY[i] * moduleVx(moduleStates[i]))
+              / _radiusSquaredSum;
+    }
+
+    double squaredError = 0;
+
+    boolean isStalled = false;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      double errorX = moduleVx(moduleStates[i]) - (meanVx - omega * _moduleY[i]);
+      double errorY = moduleVy(moduleStates[i]) - (meanVy + omega * _moduleX[i]);
+
+      squaredError += errorX * errorX + errorY * errorY;
+
+      if (Math.abs(driveCurrents[i]) > _stallCurrent
+          && Math.abs(moduleStates[i].speedMetersPerSecond) < _stallSpeed) isStalled = true;
+    }
+
+    _residual = Math.sqrt(squaredError / _moduleCount);
+
+    if (!isStalled) _stallStartTime = Double.NaN;
+    else if (Double.isNaN(_stallStartTime)) _stallStartTime = timestamp;
+
+    boolean isPushing = isStalled && timestamp - _stallStartTime >= _stallTime;
+
+    if (_residual > _residualThreshold || isPushing) _lastSlipTime = timestamp;
+
+    if (Math.hypot(accelerationX, accelerationY) > _collisionAcceleration)
+      _lastCollisionTime = timestamp;
+  }
+
+  private static double moduleVx(SwerveModuleState state) {
+    return state.speedMetersPerSecond * state.angle.getCos();
+  }
+
+  private static double moduleVy(SwerveModuleState state) {
+    return state.speedMetersPerSecond * state.angle.getSin();
+  }
+
+  /** The RMS residual of the module velocities from the last update in meters per second. */
+  public double getResidual() {
+    return _residual;
+  }
+
+  /** The timestamp of the last detected wheel slip. */
+  public double getLastSlipTime() {
+    return _lastSlipTime;
+  }
+
+  /** The timestamp of the last detected collision. */
+  public double getLastCollisionTime() {
+    return _lastCollisionTime;
+  }
+}
@@ -0,0 +1,205 @@
+package frc.robot.utils;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Limits robot-relative chassis speeds to what the modules can physically achieve in one timestep.
+ * Each module's wheel speed is capped, the change in each module's velocity is limited by traction,
+ * and the change in each module's heading is limited by its steer velocity. The next setpoint is
+ * found by moving from the previous setpoint towards the desired speeds as far as all modules
+ * allow.
+ */
+public class SwerveSetpointGenerator {
+  // below this module speed the module heading is free to change
+  private static final double _speedEpsilon = 1e-3;
+
+  private static final int _steerIterations = 10;
+
+  private final int _moduleCount;
+
+  private final double[] _moduleX;
+  private final double[] _moduleY;
+
+  private final double _maxDriveVelocity;
+  private final double _maxDriveAcceleration;
+  private final double _maxSteerVelocity;
+
+  // previous setpoint
+  private double _prevVx;
+  private double _prevVy;
+  private double _prevOmega;
+
+  private final double[] _prevHeadings;
+
+  /**
+   * Creates a new SwerveSetpointGenerator.
+   *
+   * @param moduleLocations The locations of the modules relative to the robot center in meters.
+   * @param maxDriveVelocity The max wheel speed in meters per second.
+   * @param maxDriveAcceleration The max traction-limited module acceleration in meters per second
+   *     squared.
+   * @param maxSteerVelocity The max module steer velocity in radians per second.
+   */
+  public SwerveSetpointGenerator(
+      Translation2d[] moduleLocations,
+      double maxDriveVelocity,
+      double maxDriveAcceleration,
+      double maxSteerVelocity) {
+    _moduleCount = moduleLocations.length;
+
+    _moduleX = new double[_moduleCount];
+    _moduleY = new double[_moduleCount];
+
+    for (int i = 0; i < _moduleCount; i++) {
+      _moduleX[i] = moduleLocations[i].getX();
+      _moduleY[i] = moduleLocations[i].getY();
+    }
+
+    _maxDriveVelocity = maxDriveVelocity;
+    _maxDriveAcceleration = maxDriveAcceleration;
+    _maxSteerVelocity = maxSteerVelocity;
+
+    _prevHeadings = new double[_moduleCount];
+  }
+
+  /**
+   * Resets the previous setpoint to the measured state of the drive.
+   *
+   * @param speeds The measured robot-relative chassis speeds.
+   * @param moduleStates The measured module states, in the same order as the module locations.
+   */
+  public void reset(ChassisSpeeds speeds, SwerveModuleState[] moduleStates) {
+    _prevVx = speeds.vxMetersPerSecond;
+    _prevVy = speeds.vyMetersPerSecond;
+    _prevOmega = speeds.omegaRadiansPerSecond;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      _prevHeadings[i] = moduleStates[i].angle.getRadians();
+    }
+  }
+
+  /**
+   * Generates the next feasible setpoint towards some desired speeds.
+   *
+   * @param desiredSpeeds The desired robot-relative chassis speeds.
+   * @param dt The timestep in seconds.
+   * @param output The chassis speeds to write the setpoint to, can be the same as the desired
+   *     speeds.
+   * @return The output chassis speeds.
+   */
+  public ChassisSpeeds generate(ChassisSpeeds desiredSpeeds, double dt, ChassisSpeeds output) {
+    double desiredVx = desiredSpeeds.vxMetersPerSecond;
+    double desiredVy = desiredSpeeds.vyMetersPerSecond;
+    double desiredOmega = desiredSpeeds.omegaRadiansPerSecond;
+
+    // desaturate, keeping the ratio between translation and rotation
+    double maxModuleSpeed = 0;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      maxModuleSpeed =
+          Math.max(
+              maxModuleSpeed,
+              Math.hypot(
+                  desiredVx - desiredOmega * _moduleY[i], desiredVy + desiredOmega * _moduleX[i]));
+    }
+
+    if (maxModuleSpeed > _maxDriveVelocity) {
+      double scale = _maxDriveVelocity / maxModuleSpeed;
+
+      desiredVx *= scale;
+      desiredVy *= scale;
+      desiredOmega *= scale;
+    }
+
+    double dVx = desiredVx - _prevVx;
+    double dVy = desiredVy - _prevVy;
+    double dOmega = desiredOmega - _prevOmega;
+
+    // the fraction of the way to the desired speeds that is feasible
+    double s = 1;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      // module velocities are linear in s, so the traction limit has a closed form
+      double moduleDx = dVx - dOmega * _moduleY[i];
+      double moduleDy = dVy + dOmega * _moduleX[i];
+
+      double moduleDelta = Math.hypot(moduleDx, moduleDy);
+
+      if (moduleDelta > _maxDriveAcceleration * dt) {
+        s = Math.min(s, _maxDriveAcceleration * dt / moduleDelta);
+      }
+    }
+
+    for (int i = 0; i < _moduleCount; i++) {
+      if (steerFeasible(i, s, dt, dVx, dVy, dOmega)) continue;
+
+      // the module heading changes monotonically along s, so bisect for the largest feasible s
+      double low = 0;
+      double high = s;
+
+      for (int j = 0; j < _steerIterations; j++) {
+        double mid = (low + high) / 2;
+
+        if (steerFeasible(i, mid, dt, dVx, dVy, dOmega)) low = mid;
+        else high = mid;
+      }
+
+      s = low;
+    }
+
+    _prevVx += s * dVx;
+    _prevVy += s * dVy;
+    _prevOmega += s * dOmega;
+
+    for (int i = 0; i < _moduleCount; i++) {
+      double moduleVx = _prevVx - _prevOmega * _moduleY[i];
+      double moduleVy = _prevVy + _prevOmega * _moduleX[i];
+
+      if (Math.hypot(moduleVx, moduleVy) > _speedEpsilon) {
+        _prevHeadings[i] = Math.atan2(moduleVy, moduleVx);
+        continue;
+      }
+
+      // a stopped module steers towards its desired heading before it starts driving
+      double desiredModuleVx = desiredVx - desiredOmega * _moduleY[i];
+      double desiredModuleVy = desiredVy + desiredOmega * _moduleX[i];
+
+      if (Math.hypot(desiredModuleVx, desiredModuleVy) > _speedEpsilon) {
+        double difference =
+            Math.IEEEremainder(
+                Math.atan2(desiredModuleVy, desiredModuleVx) - _prevHeadings[i], Math.PI);
+
+        _prevHeadings[i] +=
+            Math.max(-_maxSteerVelocity * dt, Math.min(_maxSteerVelocity * dt, difference));
+      }
+    }
+
+    output.vxMetersPerSecond = _prevVx;
+    output.vyMetersPerSecond = _prevVy;
+    output.omegaRadiansPerSecond = _prevOmega;
+
+    return output;
+  }
+
+  // whether a module can steer to its heading at the given fraction within the timestep
+  private boolean steerFeasible(
+      int module, double s, double dt, double dVx, double dVy, double dOmega) {
+    double vx = _prevVx + s * dVx;
+    double vy = _prevVy + s * dVy;
+    double omega = _prevOmega + s * dOmega;
+
+    double moduleVx = vx - omega * _moduleY[module];
+    double moduleVy = vy + omega * _moduleX[module];
+
+    if (Math.hypot(moduleVx, moduleVy) < _speedEpsilon) return true;
+
+    // modules can flip their drive direction, so only the heading mod 180 degrees matters
+    double difference = Math.atan2(moduleVy, moduleVx) - _prevHeadings[module];
+
+    difference = Math.IEEEremainder(difference, Math.PI);
+
+    return Math.abs(difference) <= _maxSteerVelocity * dt;
+  }
+}
@@ -0,0 +1,114 @@
+package frc.robot.utils;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Accumulates how well a trajectory was tracked: RMS and max translation and heading error, and an
+ * estimate of how far in time the robot lags behind the trajectory.
+ */
+public class TrackingErrorStats {
+  // below this speed, along-track error says nothing about lag
+  private static final double _minLagSpeed = 0.1;
+
+  private int _samples = 0;
+
+  private double _translationSquaredSum = 0;
+  private double _translationMax = 0;
+
+  private double _headingSquaredSum = 0;
+  private double _headingMax = 0;
+
+  // least-squares fit of along-track error = lag * speed
+  private double _alongTrackSpeedSum = 0;
+  private double _speedSquaredSum = 0;
+
+  /** Clears all accumulated samples. */
+  public void reset() {
+    _samples = 0;
+
+    _translationSquaredSum = 0;
+    _translationMax = 0;
+
+    _headingSquaredSum = 0;
+    _headingMax = 0;
+
+    _alongTrackSpeedSum = 0;
+    _speedSquaredSum = 0;
+  }
+
+  /**
+   * Adds a sample.
+   *
+   * @param desiredX The desired x position in meters.
+   * @param desiredY The desired y position in meters.
+   * @param desiredHeading The desired heading in radians.
+   * @param desiredVx The desired x velocity in meters per second.
+   * @param desiredVy The desired y velocity in meters per second.
+   * @param x The actual x position in meters.
+   * @param y The actual y position in meters.
+   * @param heading The actual heading in radians.
+   */
+  public void add(
+      double desiredX,
+      double desiredY,
+      double desiredHeading,
+      double desiredVx,
+      double desiredVy,
+      double x,
+      double y,
+      double heading) {
+    double errorX = desiredX - x;
+    double errorY = desiredY - y;
+
+    double translationSquared = errorX * errorX + errorY * errorY;
+    double headingError = Math.abs(MathUtil.angleModulus(desiredHeading - heading));
+
+    _samples++;
+
+    _translationSquaredSum += translationSquared;
+    _translationMax = Math.max(_translationMax, Math.sqrt(translationSquared));
+
+    _headingSquaredSum += headingError * headingError;
+    _headingMax = Math.max(_headingMax, headingError);
+
+    double speed = Math.hypot(desiredVx, desiredVy);
+
+    if (speed > _minLagSpeed) {
+      // error along the direction of travel, positive when behind
+      double alongTrack = (errorX * desiredVx + errorY * desiredVy) / speed;
+
+      _alongTrackSpeedSum += alongTrack * speed;
+      _speedSquaredSum += speed * speed;
+    }
+  }
+
+  /** The number of samples added since the last reset. */
+  public int getSamples() {
+    return _samples;
+  }
+
+  /** The RMS translation error in meters. */
+  public double getTranslationRms() {
+    return _samples == 0 ? 0 : Math.sqrt(_translationSquaredSum / _samples);
+  }
+
+  /** The max translation error in meters. */
+  public double getTranslationMax() {
+    return _translationMax;
+  }
+
+  /** The RMS heading error in radians. */
+  public double getHeadingRms() {
+    return _samples == 0 ? 0 : Math.sqrt(_headingSquaredSum / _samples);
+  }
+
+  /** The max heading error in radians. */
+  public double getHeadingMax() {
+    return _headingMax;
+  }
+
+  /** The estimated time the robot lags behind the trajectory in seconds, negative if ahead. */
+  public double getLag() {
+    return _speedSquaredSum == 0 ? 0 : _alongTrackSpeedSum / _speedSquaredSum;
+  }
+}
@@ -0,0 +1,85 @@
+package frc.robot.utils;
+
+import choreo.Choreo;
+import choreo.trajectory.SwerveSample;
+import choreo.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Filesystem;
+import java.io.File;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses all choreo trajectories in the deploy directory once, on a background thread, and keeps
+ * both their blue and (pre-flipped) red alliance versions.
+ *
+ * <pre>
+ * TrajectoryCache.loadAll(); // at boot
+ *
+ * TrajectoryCache.get("simpleTrajectory", isRed); // later, with no parsing or flipping
+ * </pre>
+ */
+public final class TrajectoryCache {
+  private static final Map<String, Trajectory<SwerveSample>> _blueTrajectories =
+      new ConcurrentHashMap<>();
+  private static final Map<String, Trajectory<SwerveSample>> _redTrajectories =
+      new ConcurrentHashMap<>();
+
+  private static Thread _loader;
+
+  /** Starts loading every trajectory in the deploy directory, if it hasn't been started yet. */
+  public static synchronized void loadAll() {
+    if (_loader != null) return;
+
+    _loader = new Thread(TrajectoryCache::load, "Trajectory Cache Loader");
+    _loader.setDaemon(true);
+    _loader.start();
+  }
+
+  private static void load() {
+    File[] files = new File(Filesystem.getDeployDirectory(), "choreo").listFiles();
+
+    if (files == null) return;
+
+    for (File file : files) {
+      if (!file.getName().endsWith(".traj")) continue;
+
+      String name = file.getName().substring(0, file.getName().length() - ".traj".length());
+
+      Optional<Trajectory<SwerveSample>> trajectory = Choreo.loadTrajectory(name);
+
+      if (trajectory.isEmpty()) {
+        DataLogManager.log("Failed to load trajectory " + name);
+        continue;
+      }
+
+      _blueTrajectories.put(name, trajectory.get());
+      _redTrajectories.put(name, trajectory.get().flipped());
+    }
+  }
+
+  /**
+   * Gets a cached trajectory, waiting for the cache to finish loading if it hasn't yet.
+   *
+   * @param name The name of the trajectory file, without the extension.
+   * @param isRed Whether to get the trajectory flipped for the red alliance.
+   * @return The trajectory.
+   * @throws IllegalArgumentException If no trajectory with that name was loaded.
+   */
+  public static Trajectory<SwerveSample> get(String name, boolean isRed) {
+    loadAll();
+
+    try {
+      _loader.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    var trajectory = isRed ? _redTrajectories.get(name) : _blueTrajectories.get(name);
+
+    if (trajectory == null) throw new IllegalArgumentException("No trajectory named " + name);
+
+    return trajectory;
+  }
+}
@@ -0,0 +1,262 @@
+package frc.robot.utils;
+
+import choreo.trajectory.SwerveSample;
+import choreo.trajectory.Trajectory;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import java.util.List;
+
+/**
+ * A trajectory stored as parallel primitive arrays, sampled with a cursor that only moves forward.
+ * Sampling is constant time and interpolates in place, so following a trajectory doesn't allocate.
+ */
+public class TrajectoryFollower {
+  private final String _name;
+
+  private final int _length;
+  private final int _moduleCount;
+
+  private final double[] _times;
+  private final double[] _x;
+  private final double[] _y;
+  private final double[] _heading;
+  private final double[] _vx;
+  private final double[] _vy;
+  private final double[] _omega;
+
+  // module forces, flattened as [sample * module count + module]
+  private final double[] _moduleForcesX;
+  private final double[] _moduleForcesY;
+
+  private final Pose2d[] _poses;
+
+  private int _cursor = 0;
+
+  // the latest interpolated sample
+  private double _sampleX;
+  private double _sampleY;
+  private double _sampleHeading;
+  private double _sampleVx;
+  private double _sampleVy;
+  private double _sampleOmega;
+
+  private final double[] _sampleModuleForcesX;
+  private final double[] _sampleModuleForcesY;
+
+  /**
+   * Creates a new TrajectoryFollower. The arrays are used directly and not copied.
+   *
+   * @param name The name of the trajectory.
+   * @param times Sample timestamps in seconds, in increasing order.
+   * @param x Field-relative x positions in meters.
+   * @param y Field-relative y positions in meters.
+   * @param heading Headings in radians.
+   * @param vx Field-relative x velocities in meters per second.
+   * @param vy Field-relative y velocities in meters per second.
+   * @param omega Angular velocities in radians per second.
+   * @param moduleForcesX Field-relative module x forces in newtons, flattened as [sample * module
+   *     count + module].
+   * @param moduleForcesY Field-relative module y forces in newtons, flattened the same way.
+   * @param moduleCount The number of modules.
+   */
+  public TrajectoryFollower(
+      String name,
+      double[] times,
+      double[] x,
+      double[] y,
+      double[] heading,
+      double[] vx,
+      double[] vy,
+      double[] omega,
+      double[] moduleForcesX,
+      double[] moduleForcesY,
+      int moduleCount) {
+    _name = name;
+
+    _length = times.length;
+    _moduleCount = moduleCount;
+
+    _times = times;
+    _x = x;
+    _y = y;
+    _heading = heading;
+    _vx = vx;
+    _vy = vy;
+    _omega = omega;
+
+    _moduleForcesX = moduleForcesX;
+    _moduleForcesY = moduleForcesY;
+
+    _sampleModuleForcesX = new double[moduleCount];
+    _sampleModuleForcesY = new double[moduleCount];
+
+    _poses = new Pose2d[_length];
+
+    for (int i = 0; i < _length; i++) {
+      _poses[i] = new Pose2d(x[i], y[i], Rotation2d.fromRadians(heading[i]));
+    }
+
+    reset();
+  }
+
+  /** Copies a choreo trajectory into a new TrajectoryFollower. */
+  public static TrajectoryFollower fromChoreo(Trajectory<SwerveSample> trajectory) {
+    List<SwerveSample> samples = trajectory.samples();
+
+    int length = samples.size();
+    int moduleCount = samples.get(0).moduleForcesX().length;
+
+    double[] times = new double[length];
+    double[] x = new double[length];
+    double[] y = new double[length];
+    double[] heading = new double[length];
+    double[] vx = new double[length];
+    double[] vy = new double[length];
+    double[] omega = new double[length];
+
+    double[] moduleForcesX = new double[length * moduleCount];
+    double[] moduleForcesY = new double[length * moduleCount];
+
+    for (int i = 0; i < length; i++) {
+      SwerveSample sample = samples.get(i);
+
+      times[i] = sample.t;
+      x[i] = sample.x;
+      y[i] = sample.y;
+      heading[i] = sample.heading;
+      vx[i] = sample.vx;
+      vy[i] = sample.vy;
+      omega[i] = sample.omega;
+
+      for (int m = 0; m < moduleCount; m++) {
+        moduleForcesX[i * moduleCount + m] = sample.moduleForcesX()[m];
+        moduleForcesY[i * moduleCount + m] = sample.moduleForcesY()[m];
+      }
+    }
+
+    return new TrajectoryFollower(
+        trajectory.name(),
+        times,
+        x,
+        y,
+        heading,
+        vx,
+        vy,
+        omega,
+        moduleForcesX,
+        moduleForcesY,
+        moduleCount);
+  }
+
+  /** Moves the cursor back to the start of the trajectory. */
+  public void reset() {
+    _cursor = 0;
+
+    sample(_times[0]);
+  }
+
+  /**
+   * Samples the trajectory at some time, storing the result in this follower. Times before the
+   * previous sampled time are treated as the previous time.
+   *
+   * @param time The time since the start of the trajectory in seconds.
+   */
+  public void sample(double time) {
+    // the cursor only ever moves forward, so this is amortized constant time
+    while (_cursor < _length - 2 && _times[_cursor + 1] <= time) _cursor++;
+
+    int next = Math.min(_cursor + 1, _length - 1);
+
+    double span = _times[next] - _times[_cursor];
+    double t = span <= 0 ? 1 : MathUtil.clamp((time - _times[_cursor]) / span, 0, 1);
+
+    _sampleX = MathUtil.interpolate(_x[_cursor], _x[next], t);
+    _sampleY = MathUtil.interpolate(_y[_cursor], _y[next], t);
+
+    _sampleHeading =
+        _heading[_cursor] + MathUtil.angleModulus(_heading[next] - _heading[_cursor]) * t;
+
+    _sampleVx = MathUtil.interpolate(_vx[_cursor], _vx[next], t);
+    _sampleVy = MathUtil.interpolate(_vy[_cursor], _vy[next], t);
+    _sampleOmega = MathUtil.interpolate(_omega[_cursor], _omega[next], t);
+
+    for (int m = 0; m < _moduleCount; m++) {
+      _sampleModuleForcesX[m] =
+          MathUtil.interpolate(
+              _moduleForcesX[_cursor * _moduleCount + m],
+              _moduleForcesX[next * _moduleCount + m],
+              t);
+      _sampleModuleForcesY[m] =
+          MathUtil.interpolate(
+              _moduleForcesY[_cursor * _moduleCount + m],
+              _moduleForcesY[next * _moduleCount + m],
+              t);
+    }
+  }
+
+  /** The name of the trajectory. */
+  public String getName() {
+    return _name;
+  }
+
+  /** The total time of the trajectory in seconds. */
+  public double getTotalTime() {
+    return _times[_length - 1];
+  }
+
+  /** The pose at the start of the trajectory. */
+  public Pose2d getInitialPose() {
+    return _poses[0];
+  }
+
+  /** The pose at the end of the trajectory. */
+  public Pose2d getFinalPose() {
+    return _poses[_length - 1];
+  }
+
+  /** All poses of the trajectory. */
+  public Pose2d[] getPoses() {
+    return _poses;
+  }
+
+  /** The sampled x position in meters. */
+  public double getX() {
+    return _sampleX;
+  }
+
+  /** The sampled y position in meters. */
+  public double getY() {
+    return _sampleY;
+  }
+
+  /** The sampled heading in radians. */
+  public double getHeading() {
+    return _sampleHeading;
+  }
+
+  /** The sampled field-relative x velocity in meters per second. */
+  public double getVx() {
+    return _sampleVx;
+  }
+
+  /** The sampled field-relative y velocity in meters per second. */
+  public double getVy() {
+    return _sampleVy;
+  }
+
+  /** The sampled angular velocity in radians per second. */
+  public double getOmega() {
+    return _sampleOmega;
+  }
+
+  /** The sampled module x forces in newtons. This array is re-used between samples. */
+  public double[] getModuleForcesX() {
+    return _sampleModuleForcesX;
+  }
+
+  /** The sampled module y forces in newtons. This array is re-used between samples. */
+  public double[] getModuleForcesY() {
+    return _sampleModuleForcesY;
+  }
+}
@@ -0,0 +1,249 @@
+package frc.robot.utils;
+
+import static edu.wpi.first.units.Units.*;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.Constants.WristevatorConstants.Setpoint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Obstacles in the wristevator's configuration space, which has the elevator drum angle as x and
+ * the wrist angle as y, in radians. Every obstacle is a convex polygon.
+ */
+public class WristevatorObstacles {
+  // polygon vertices, counterclockwise
+  private final double[][] _heights;
+  private final double[][] _angles;
+
+  private final List<String> _loadProblems = new ArrayList<>();
+
+  /**
+   * Creates new WristevatorObstacles.
+   *
+   * @param polygons The vertices of each convex obstacle, in either winding order.
+   */
+  public WristevatorObstacles(List<Translation2d[]> polygons) {
+    _heights = new double[polygons.size()][];
+    _angles = new double[polygons.size()][];
+
+    for (int i = 0; i < polygons.size(); i++) {
+      Translation2d[] polygon = polygons.get(i);
+
+      int n = polygon.length;
+
+      double area = 0;
+
+      for (int j = 0; j < n; j++) {
+        Translation2d a = polygon[j];
+        Translation2d b = polygon[(j + 1) % n];
+
+        area += a.getX() * b.getY() - b.getX() * a.getY();
+      }
+
+      _heights[i] = new double[n];
+      _angles[i] = new double[n];
+
+      for (int j = 0; j < n; j++) {
+        Translation2d vertex = area < 0 ? polygon[n - 1 - j] : polygon[j];
+
+        _heights[i][j] = vertex.getX();
+        _angles[i][j] = vertex.getY();
+      }
+    }
+  }
+
+  /**
+   * Loads the obstacles from {@code deploy/wristevator/obstacles.csv}.
+   *
+   * @see #fromCsv(List)
+   */
+  public static WristevatorObstacles fromDeploy() {
+    Path file = Filesystem.getDeployDirectory().toPath().resolve("wristevator/obstacles.csv");
+
+    try {
+      return fromCsv(Files.readAllLines(file));
+    } catch (IOException e) {
+      WristevatorObstacles obstacles = new WristevatorObstacles(List.of());
+
+      obstacles._loadProblems.add("Failed to load the wristevator obstacles: " + e.getMessage());
+
+      return obstacles;
+    }
+  }
+
+  /**
+   * Loads the obstacles from the lines of a csv. Lines are {@code name,height,angle}, and lines
+   * with the same name are the vertices of one obstacle. Malformed lines, obstacles with fewer than
+   * three vertices and a csv without any obstacles are reported by {@link #getLoadProblems()}.
+   *
+   * @param lines The lines of the csv.
+   */
+  public static WristevatorObstacles fromCsv(List<String> lines) {
+    Map<String, List<Translation2d>> polygons = new LinkedHashMap<>();
+
+    List<String> problems = new ArrayList<>();
+
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).strip();
+
+      if (line.isEmpty()) continue;
+
+      String[] values = line.split(",");
+
+      String problem = "Malformed wristevator obstacles line " + (i + 1) + ": " + line;
+
+      if (values.length != 3) {
+        problems.add(problem);
+
+        continue;
+      }
+
+      Translation2d vertex;
+
+      try {
+        vertex =
+            new Translation2d(
+                Double.parseDouble(values[1].strip()), Double.parseDouble(values[2].strip()));
+      } catch (NumberFormatException e) {
+        problems.add(problem);
+
+        continue;
+      }
+
+      polygons.computeIfAbsent(values[0].strip(), name -> new ArrayList<>()).add(vertex);
+    }
+
+    polygons.forEach(
+        (name, polygon) -> {
+          if (polygon.size() < 3) {
+            problems.add("Wristevator obstacle " + name + " has fewer than three vertices");
+          }
+        });
+
+    if (polygons.isEmpty()) problems.add("No wristevator obstacles were loaded");
+
+    WristevatorObstacles obstacles =
+        new WristevatorObstacles(
+            polygons.values().stream().map(p -> p.toArray(Translation2d[]::new)).toList());
+
+    obstacles._loadProblems.addAll(problems);
+
+    return obstacles;
+  }
+
+  /**
+   * Problems found while loading the obstacles, empty if there were none. When there are any, the
+   * obstacles can't be trusted to cover everything the wristevator has to avoid.
+   */
+  public List<String> getLoadProblems() {
+    return _loadProblems;
+  }
+
+  /** Whether a position is strictly inside an obstacle. */
+  public boolean contains(double height, double angle) {
+    for (int i = 0; i < _heights.length; i++) {
+      if (contains(i, height, angle)) return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Whether moving in a straight line between two positions passes through an obstacle. Touching an
+   * obstacle's edge doesn't count, and neither do obstacles that already contain the start, so the
+   * wristevator can always move back out of one.
+   */
+  public boolean intersects(
+      double startHeight, double startAngle, double endHeight, double endAngle) {
+    for (int i = 0; i < _heights.length; i++) {
+      if (contains(i, startHeight, startAngle)) continue;
+
+      if (intersects(i, startHeight, startAngle, endHeight, endAngle)) return true;
+    }
+
+    return false;
+  }
+
+  /** Whether moving in a straight line between two setpoints passes through an obstacle. */
+  public boolean intersects(Setpoint start, Setpoint end) {
+    return intersects(
+        start.getHeight().in(Radians),
+        start.getAngle().in(Radians),
+        end.getHeight().in(Radians),
+        end.getAngle().in(Radians));
+  }
+
+  private boolean contains(int obstacle, double height, double angle) {
+    double[] heights = _heights[obstacle];
+    double[] angles = _angles[obstacle];
+
+    int n = heights.length;
+
+    if (n < 3) return false;
+
+    for (int j = 0; j < n; j++) {
+      if (outside(heights, angles, j, (j + 1) % n, height, angle) >= 0) return false;
+    }
+
+    return true;
+  }
+
+  // clips the segment against every edge's half plane (cyrus-beck)
+  private boolean intersects(
+      int obstacle, double startHeight, double startAngle, double endHeight, double endAngle) {
+    double[] heights = _heights[obstacle];
+    double[] angles = _angles[obstacle];
+
+    int n = heights.length;
+
+    if (n < 3) return false;
+
+    double deltaHeight = endHeight - startHeight;
+    double deltaAngle = endAngle - startAngle;
+
+    double enter = 0;
+    double exit = 1;
+
+    for (int j = 0; j < n; j++) {
+      int k = (j + 1) % n;
+
+      double distance = outside(heights, angles, j, k, startHeight, startAngle);
+
+      // rate the segment moves outwards of this edge
+      double rate = (angles[k] - angles[j]) * deltaHeight - (heights[k] - heights[j]) * deltaAngle;
+
+      if (Math.abs(rate) < 1e-12) {
+        // parallel to the edge and not inside it
+        if (distance >= 0) return false;
+
+        continue;
+      }
+
+      double t = -distance / rate;
+
+      if (rate < 0) {
+        enter = Math.max(enter, t);
+      } else {
+        exit = Math.min(exit, t);
+      }
+
+      if (exit - enter <= 1e-9) return false;
+    }
+
+    return true;
+  }
+
+  // how far a point is outwards of the edge from vertex j to k, scaled by the edge's length
+  private static double outside(
+      double[] heights, double[] angles, int j, int k, double height, double angle) {
+    return (angles[k] - angles[j]) * (height - heights[j])
+        - (heights[k] - heights[j]) * (angle - angles[j]);
+  }
+}
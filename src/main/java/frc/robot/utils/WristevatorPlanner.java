@@ -0,0 +1,390 @@
+package frc.robot.utils;
+
+import static edu.wpi.first.units.Units.*;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.Constants.WristevatorConstants;
+import frc.robot.Constants.WristevatorConstants.Intermediate;
+import frc.robot.Constants.WristevatorConstants.Preset;
+import frc.robot.Constants.WristevatorConstants.Setpoint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans the fastest safe route between wristevator setpoints through the configuration space.
+ *
+ * <p>The configuration space is a complete graph of setpoints, minus the edges that pass through an
+ * obstacle or are explicitly forbidden. Every edge is weighted by how long a synchronized move
+ * between its setpoints takes, and all-pairs shortest paths are found once when the planner is
+ * made, so that the next setpoint towards a goal is a lookup.
+ *
+ * <p>The tables are dense over every {@link Preset} and {@link Intermediate}, indexed by ordinal,
+ * so lookups don't allocate or hash.
+ */
+public class WristevatorPlanner {
+  private static final Preset[] _presets = Preset.values();
+  private static final Intermediate[] _intermediates = Intermediate.values();
+
+  // every preset followed by every intermediate
+  private static final Setpoint[] _setpoints =
+      new Setpoint[_presets.length + _intermediates.length];
+
+  static {
+    System.arraycopy(_presets, 0, _setpoints, 0, _presets.length);
+    System.arraycopy(_intermediates, 0, _setpoints, _presets.length, _intermediates.length);
+  }
+
+  // how far a vertex in the csv can be from its setpoint in radians
+  private static final double _vertexTolerance = 1e-3;
+
+  // whether each setpoint is a vertex of the configuration space
+  private final boolean[] _isVertex = new boolean[_setpoints.length];
+
+  // the next setpoint on the fastest route from i to j, or -1 if there is none
+  private final int[][] _next;
+
+  private final double[][] _time;
+
+  private final Constraints _elevatorConstraints;
+  private final double _elevatorJerk;
+
+  private final Constraints _wristConstraints;
+  private final double _wristJerk;
+
+  // problems found while loading the configuration space, reported with the route problems
+  private final List<String> _loadProblems = new ArrayList<>();
+
+  /**
+   * Creates a new WristevatorPlanner.
+   *
+   * @param vertices The setpoints in the configuration space.
+   * @param forbiddenEdges Pairs of setpoints that can't be moved between directly.
+   * @param obstacles Obstacles that can't be moved through.
+   * @param elevatorConstraints The elevator's max velocity and acceleration in radians.
+   * @param elevatorJerk The elevator's max jerk in radians.
+   * @param wristConstraints The wrist's max velocity and acceleration in radians.
+   * @param wristJerk The wrist's max jerk in radians.
+   */
+  public WristevatorPlanner(
+      List<Setpoint> vertices,
+      List<Pair<Setpoint, Setpoint>> forbiddenEdges,
+      WristevatorObstacles obstacles,
+      Constraints elevatorConstraints,
+      double elevatorJerk,
+      Constraints wristConstraints,
+      double wristJerk) {
+    _elevatorConstraints = elevatorConstraints;
+    _elevatorJerk = elevatorJerk;
+
+    _wristConstraints = wristConstraints;
+    _wristJerk = wristJerk;
+
+    int n = _setpoints.length;
+
+    for (Setpoint vertex : vertices) {
+      int i = index(vertex);
+
+      if (i != -1) _isVertex[i] = true;
+    }
+
+    _next = new int[n][n];
+    _time = new double[n][n];
+
+    boolean[][] isForbidden = new boolean[n][n];
+
+    for (var edge : forbiddenEdges) {
+      int a = index(edge.getFirst());
+      int b = index(edge.getSecond());
+
+      if (a == -1 || b == -1) continue;
+
+      isForbidden[a][b] = true;
+      isForbidden[b][a] = true;
+    }
+
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (i == j) {
+          _time[i][j] = 0;
+          _next[i][j] = j;
+        } else if (!_isVertex[i]
+            || !_isVertex[j]
+            || isForbidden[i][j]
+            || obstacles.intersects(_setpoints[i], _setpoints[j])) {
+          _time[i][j] = Double.POSITIVE_INFINITY;
+          _next[i][j] = -1;
+        } else {
+          _time[i][j] = moveTime(_setpoints[i], _setpoints[j]);
+          _next[i][j] = j;
+        }
+      }
+    }
+
+    // floyd-warshall
+    for (int k = 0; k < n; k++) {
+      for (int i = 0; i < n; i++) {
+        if (_time[i][k] == Double.POSITIVE_INFINITY) continue;
+
+        for (int j = 0; j < n; j++) {
+          double time = _time[i][k] + _time[k][j];
+
+          if (time < _time[i][j]) {
+            _time[i][j] = time;
+            _next[i][j] = _next[i][k];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Loads the configuration space from {@code deploy/wristevator/configuration_space.csv}.
+   *
+   * @param obstacles Obstacles that can't be moved through.
+   * @see #fromCsv(List, WristevatorObstacles)
+   */
+  public static WristevatorPlanner fromDeploy(WristevatorObstacles obstacles) {
+    Path file =
+        Filesystem.getDeployDirectory().toPath().resolve("wristevator/configuration_space.csv");
+
+    try {
+      return fromCsv(Files.readAllLines(file), obstacles);
+    } catch (IOException e) {
+      WristevatorPlanner planner = fromCsv(List.of(), obstacles);
+
+      planner._loadProblems.add(
+          "Failed to load the wristevator configuration space: " + e.getMessage());
+
+      return planner;
+    }
+  }
+
+  /**
+   * Loads the configuration space from the lines of a csv. Vertex lines are {@code
+   * name,height,angle} and forbidden edge lines are {@code name,name}, where names are those of
+   * {@link Preset} or {@link Intermediate} values. A vertex's height and angle have to match its
+   * setpoint's. Unknown names, mismatched vertices and malformed lines are reported by {@link
+   * #validate()}, as are problems loading the obstacles.
+   *
+   * <p>This fails closed: without any vertices every setpoint is used, and if the obstacles didn't
+   * load completely, {@link WristevatorConstants#fallbackForbiddenEdges} are forbidden too.
+   *
+   * @param lines The lines of the csv.
+   * @param obstacles Obstacles that can't be moved through.
+   */
+  public static WristevatorPlanner fromCsv(List<String> lines, WristevatorObstacles obstacles) {
+    List<Setpoint> vertices = new ArrayList<>();
+    List<Pair<Setpoint, Setpoint>> forbiddenEdges = new ArrayList<>();
+
+    List<String> problems = new ArrayList<>();
+
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).strip();
+
+      if (line.isEmpty()) continue;
+
+      String[] values = line.split(",");
+
+      String location = "wristevator configuration space line " + (i + 1);
+
+      if (values.length == 3) {
+        Setpoint vertex = setpoint(values[0].strip());
+
+        if (vertex == null) {
+          problems.add("Unknown vertex " + values[0].strip() + " on " + location);
+
+          continue;
+        }
+
+        double height;
+        double angle;
+
+        try {
+          height = Double.parseDouble(values[1].strip());
+          angle = Double.parseDouble(values[2].strip());
+        } catch (NumberFormatException e) {
+          problems.add("Malformed vertex on " + location + ": " + line);
+
+          continue;
+        }
+
+        // the setpoint is what the wristevator actually moves to, so the file can't disagree
+        if (Math.abs(height - vertex.getHeight().in(Radians)) > _vertexTolerance
+            || Math.abs(angle - vertex.getAngle().in(Radians)) > _vertexTolerance) {
+          problems.add(
+              vertex
+                  + " is at "
+                  + height
+                  + ", "
+                  + angle
+                  + " on "
+                  + location
+                  + " but at "
+                  + vertex.getHeight().in(Radians)
+                  + ", "
+                  + vertex.getAngle().in(Radians)
+                  + " in constants");
+        }
+
+        vertices.add(vertex);
+      } else if (values.length == 2) {
+        Setpoint a = setpoint(values[0].strip());
+        Setpoint b = setpoint(values[1].strip());
+
+        if (a == null || b == null) {
+          problems.add("Unknown forbidden edge " + line + " on " + location);
+
+          continue;
+        }
+
+        forbiddenEdges.add(Pair.of(a, b));
+      } else {
+        problems.add("Malformed " + location + ": " + line);
+      }
+    }
+
+    // fail closed, so that a missing or broken file never allows moves that weren't checked
+    if (vertices.isEmpty()) {
+      problems.add("No wristevator configuration space vertices were loaded, using every setpoint");
+
+      vertices.addAll(List.of(_presets));
+
+      for (Intermediate intermediate : _intermediates) {
+        if (intermediate != Intermediate.INFINITY) vertices.add(intermediate);
+      }
+    }
+
+    if (!obstacles.getLoadProblems().isEmpty()) {
+      problems.addAll(obstacles.getLoadProblems());
+      problems.add("Wristevator obstacles are incomplete, using the fallback forbidden edges");
+
+      forbiddenEdges.addAll(WristevatorConstants.fallbackForbiddenEdges);
+    }
+
+    WristevatorPlanner planner =
+        new WristevatorPlanner(
+            vertices,
+            forbiddenEdges,
+            obstacles,
+            new Constraints(
+                WristevatorConstants.maxElevatorSpeed.in(RadiansPerSecond),
+                WristevatorConstants.maxElevatorAcceleration.in(RadiansPerSecondPerSecond)),
+            WristevatorConstants.maxElevatorJerk.in(RadiansPerSecondPerSecond.per(Second)),
+            new Constraints(
+                WristevatorConstants.maxWristSpeed.in(RadiansPerSecond),
+                WristevatorConstants.maxWristAcceleration.in(RadiansPerSecondPerSecond)),
+            WristevatorConstants.maxWristJerk.in(RadiansPerSecondPerSecond.per(Second)));
+
+    planner._loadProblems.addAll(problems);
+
+    return planner;
+  }
+
+  // the preset or intermediate with a name, null if there is none
+  private static Setpoint setpoint(String name) {
+    for (Preset preset : _presets) {
+      if (preset.name().equals(name)) return preset;
+    }
+
+    for (Intermediate intermediate : _intermediates) {
+      if (intermediate.name().equals(name)) return intermediate;
+    }
+
+    return null;
+  }
+
+  /**
+   * The next setpoint to move to on the fastest route between two setpoints.
+   *
+   * @param from The current setpoint.
+   * @param to The goal setpoint.
+   * @return The next setpoint, which is the goal if either isn't in the configuration space or
+   *     there is no route.
+   */
+  public Setpoint next(Setpoint from, Setpoint to) {
+    int i = index(from);
+    int j = index(to);
+
+    if (i == -1 || j == -1 || _next[i][j] == -1) return to;
+
+    return _setpoints[_next[i][j]];
+  }
+
+  /**
+   * The time of the fastest route between two setpoints in seconds, infinite if there is no route.
+   */
+  public double routeTime(Setpoint from, Setpoint to) {
+    int i = index(from);
+    int j = index(to);
+
+    if (i == -1 || j == -1) return Double.POSITIVE_INFINITY;
+
+    return _time[i][j];
+  }
+
+  /**
+   * Checks the loaded configuration space, and the routes between every pair of presets in it.
+   *
+   * @return A description of every problem loading the configuration space, and every preset that
+   *     can't be reached from another or whose route never gets there, empty if there are none.
+   */
+  public List<String> validate() {
+    List<String> problems = new ArrayList<>(_loadProblems);
+
+    for (int i = 0; i < _presets.length; i++) {
+      for (int j = 0; j < _presets.length; j++) {
+        if (!_isVertex[i] || !_isVertex[j] || i == j) continue;
+
+        if (_next[i][j] == -1) {
+          problems.add("No wristevator route from " + _setpoints[i] + " to " + _setpoints[j]);
+
+          continue;
+        }
+
+        // following the route has to reach the goal without visiting a setpoint twice
+        int current = i;
+
+        for (int step = 0; step < _setpoints.length && current != j && current != -1; step++) {
+          current = _next[current][j];
+        }
+
+        if (current != j) {
+          problems.add("Cyclic wristevator route from " + _setpoints[i] + " to " + _setpoints[j]);
+        }
+      }
+    }
+
+    return problems;
+  }
+
+  // the index of a setpoint in the tables, -1 if it isn't a preset or intermediate
+  private static int index(Setpoint setpoint) {
+    if (setpoint instanceof Preset preset) return preset.ordinal();
+
+    if (setpoint instanceof Intermediate intermediate) {
+      return _presets.length + intermediate.ordinal();
+    }
+
+    return -1;
+  }
+
+  // time for a synchronized move, which is as long as the slower of the two axes takes alone
+  private double moveTime(Setpoint a, Setpoint b) {
+    return Math.max(
+        SCurveProfile.time(
+            b.getHeight().in(Radians) - a.getHeight().in(Radians),
+            _elevatorConstraints.maxVelocity,
+            _elevatorConstraints.maxAcceleration,
+            _elevatorJerk),
+        SCurveProfile.time(
+            b.getAngle().in(Radians) - a.getAngle().in(Radians),
+            _wristConstraints.maxVelocity,
+            _wristConstraints.maxAcceleration,
+            _wristJerk));
+  }
+}
@@ -0,0 +1,221 @@
+package frc.robot.utils;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Simulates the elevator carriage and the wrist on it as one coupled system, so that accelerating
+ * the carriage swings the wrist and the wrist's motion loads the carriage. A payload can be added
+ * at the end of the wrist.
+ *
+ * <p>The state is integrated with fixed RK4 steps, several per update if needed, without
+ * allocating.
+ */
+public class WristevatorSim {
+  private static final double _gravity = 9.81;
+
+  // the longest integration step in seconds
+  private static final double _maxStep = 0.0005;
+
+  private final DCMotor _elevatorMotor;
+  private final double _elevatorGearing;
+  private final double _drumRadius;
+  private final double _carriageMass;
+  private final double _maxHeight;
+
+  private final DCMotor _wristMotor;
+  private final double _wristGearing;
+  private final double _wristMass;
+  private final double _wristLength;
+  private final double _minAngle;
+  private final double _maxAngle;
+
+  private double _payloadMass = 0;
+
+  private double _leftVoltage = 0;
+  private double _rightVoltage = 0;
+  private double _wristVoltage = 0;
+
+  // height, height velocity, angle, angular velocity
+  private final double[] _state = new double[4];
+
+  private final double[] _k1 = new double[4];
+  private final double[] _k2 = new double[4];
+  private final double[] _k3 = new double[4];
+  private final double[] _k4 = new double[4];
+  private final double[] _intermediate = new double[4];
+
+  /**
+   * Creates a new WristevatorSim.
+   *
+   * @param elevatorMotor One of the two elevator motors.
+   * @param elevatorGearing The elevator motor to drum reduction.
+   * @param drumRadius The drum radius in meters.
+   * @param carriageMass The carriage mass in kilograms, without the wrist.
+   * @param maxHeight The max carriage height in meters.
+   * @param wristMotor The wrist motor.
+   * @param wristGearing The wrist motor to wrist reduction.
+   * @param wristMass The wrist mass in kilograms, as a uniform rod.
+   * @param wristLength The wrist length in meters.
+   * @param minAngle The min wrist angle in radians, from horizontal.
+   * @param maxAngle The max wrist angle in radians, from horizontal.
+   * @param startingAngle The starting wrist angle in radians.
+   */
+  public WristevatorSim(
+      DCMotor elevatorMotor,
+      double elevatorGearing,
+      double drumRadius,
+      double carriageMass,
+      double maxHeight,
+      DCMotor wristMotor,
+      double wristGearing,
+      double wristMass,
+      double wristLength,
+      double minAngle,
+      double maxAngle,
+      double startingAngle) {
+    _elevatorMotor = elevatorMotor;
+    _elevatorGearing = elevatorGearing;
+    _drumRadius = drumRadius;
+    _carriageMass = carriageMass;
+    _maxHeight = maxHeight;
+
+    _wristMotor = wristMotor;
+    _wristGearing = wristGearing;
+    _wristMass = wristMass;
+    _wristLength = wristLength;
+    _minAngle = minAngle;
+    _maxAngle = maxAngle;
+
+    _state[2] = startingAngle;
+  }
+
+  /** Sets the mass held at the end of the wrist in kilograms. */
+  public void setPayloadMass(double mass) {
+    _payloadMass = mass;
+  }
+
+  /**
+   * Sets the motor voltages.
+   *
+   * @param leftVoltage The left elevator motor's voltage, positive raising the carriage.
+   * @param rightVoltage The right elevator motor's voltage, positive raising the carriage.
+   * @param wristVoltage The wrist motor's voltage.
+   */
+  public void setInputVoltages(double leftVoltage, double rightVoltage, double wristVoltage) {
+    _leftVoltage = leftVoltage;
+    _rightVoltage = rightVoltage;
+    _wristVoltage = wristVoltage;
+  }
+
+  /** Steps the simulation by some time in seconds. */
+  public void update(double dt) {
+    int steps = Math.max(1, (int) Math.ceil(dt / _maxStep));
+
+    double step = dt / steps;
+
+    for (int i = 0; i < steps; i++) {
+      integrate(step);
+    }
+  }
+
+  /** The carriage height in meters. */
+  public double getHeight() {
+    return _state[0];
+  }
+
+  /** The carriage velocity in meters per second. */
+  public double getElevatorVelocity() {
+    return _state[1];
+  }
+
+  /** The wrist angle from horizontal in radians. */
+  public double getAngle() {
+    return _state[2];
+  }
+
+  /** The wrist angular velocity in radians per second. */
+  public double getWristVelocity() {
+    return _state[3];
+  }
+
+  // one rk4 step, then the hard stops
+  private void integrate(double dt) {
+    derivative(_state, _k1);
+
+    offset(_k1, dt / 2);
+    derivative(_intermediate, _k2);
+
+    offset(_k2, dt / 2);
+    derivative(_intermediate, _k3);
+
+    offset(_k3, dt);
+    derivative(_intermediate, _k4);
+
+    for (int i = 0; i < 4; i++) {
+      _state[i] += dt / 6 * (_k1[i] + 2 * _k2[i] + 2 * _k3[i] + _k4[i]);
+    }
+
+    if (_state[0] <= 0 || _state[0] >= _maxHeight) {
+      _state[0] = MathUtil.clamp(_state[0], 0, _maxHeight);
+      _state[1] = 0;
+    }
+
+    if (_state[2] <= _minAngle || _state[2] >= _maxAngle) {
+      _state[2] = MathUtil.clamp(_state[2], _minAngle, _maxAngle);
+      _state[3] = 0;
+    }
+  }
+
+  // the state offset by a derivative for some time, into the intermediate state
+  private void offset(double[] derivative, double dt) {
+    for (int i = 0; i < 4; i++) {
+      _intermediate[i] = _state[i] + derivative[i] * dt;
+    }
+  }
+
+  private void derivative(double[] state, double[] output) {
+    double heightVelocity = state[1];
+    double angle = state[2];
+    double angularVelocity = state[3];
+
+    // motor torques through the gearing
+    double elevatorSpeed = heightVelocity / _drumRadius * _elevatorGearing;
+
+    double force =
+        (_elevatorMotor.getTorque(_elevatorMotor.getCurrent(elevatorSpeed, _leftVoltage))
+                + _elevatorMotor.getTorque(_elevatorMotor.getCurrent(elevatorSpeed, _rightVoltage)))
+            * _elevatorGearing
+            / _drumRadius;
+
+    double torque =
+        _wristMotor.getTorque(
+                _wristMotor.getCurrent(angularVelocity * _wristGearing, _wristVoltage))
+            * _wristGearing;
+
+    // the wrist and payload, about the pivot
+    double armMass = _wristMass + _payloadMass;
+    double armMoment = (_wristMass / 2 + _payloadMass) * _wristLength;
+    double armInertia = (_wristMass / 3 + _payloadMass) * _wristLength * _wristLength;
+
+    double totalMass = _carriageMass + armMass;
+
+    double cos = Math.cos(angle);
+    double sin = Math.sin(angle);
+
+    // mass matrix and generalized forces of the lagrangian
+    double m11 = totalMass;
+    double m12 = armMoment * cos;
+    double m22 = armInertia;
+
+    double f1 = force - totalMass * _gravity + armMoment * sin * angularVelocity * angularVelocity;
+    double f2 = torque - armMoment * _gravity * cos;
+
+    double determinant = m11 * m22 - m12 * m12;
+
+    output[0] = heightVelocity;
+    output[1] = (m22 * f1 - m12 * f2) / determinant;
+    output[2] = angularVelocity;
+    output[3] = (m11 * f2 - m12 * f1) / determinant;
+  }
+}
@@ -0,0 +1,83 @@
+package frc.lib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringArraySubscriber;
+import frc.lib.FaultsTable.Fault;
+import frc.lib.FaultsTable.FaultType;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FaultsTableTest {
+  private NetworkTableInstance _ntInst;
+
+  private FaultsTable _table;
+
+  private StringArraySubscriber _errors;
+  private StringArraySubscriber _warnings;
+
+  @BeforeEach
+  public void setup() {
+    _ntInst = NetworkTableInstance.create();
+
+    _table = new FaultsTable(_ntInst.getTable("Faults"), "Test Faults");
+
+    _errors =
+        _ntInst.getStringArrayTopic("/Faults/Test Faults/errors").subscribe(new String[] {"none"});
+    _warnings =
+        _ntInst
+            .getStringArrayTopic("/Faults/Test Faults/warnings")
+            .subscribe(new String[] {"none"});
+  }
+
+  @AfterEach
+  public void close() {
+    _ntInst.close();
+  }
+
+  @Test
+  public void sorted() {
+    _table.set(
+        Set.of(
+            new Fault("b", FaultType.ERROR),
+            new Fault("c", FaultType.ERROR),
+            new Fault("a", FaultType.ERROR),
+            new Fault("d", FaultType.WARNING)));
+
+    assertArrayEquals(new String[] {"a", "b", "c"}, _errors.get());
+    assertArrayEquals(new String[] {"d"}, _warnings.get());
+
+    assertArrayEquals(new String[] {"a", "b", "c"}, _table.get(FaultType.ERROR));
+    assertArrayEquals(new String[] {}, _table.get(FaultType.INFO));
+  }
+
+  @Test
+  public void onlyChangesPublished() {
+    var faults = Set.of(new Fault("a", FaultType.ERROR), new Fault("b", FaultType.WARNING));
+
+    _table.set(faults);
+    _table.set(Set.copyOf(faults));
+
+    assertEquals(1, _table.getChanges(FaultType.ERROR));
+    assertEquals(1, _table.getChanges(FaultType.WARNING));
+    assertEquals(0, _table.getChanges(FaultType.INFO));
+
+    // only the warnings change
+    _table.set(Set.of(new Fault("a", FaultType.ERROR), new Fault("c", FaultType.WARNING)));
+
+    assertEquals(1, _table.getChanges(FaultType.ERROR));
+    assertEquals(2, _table.getChanges(FaultType.WARNING));
+
+    assertArrayEquals(new String[] {"c"}, _warnings.get());
+
+    _table.set(Set.of());
+
+    assertEquals(2, _table.getChanges(FaultType.ERROR));
+    assertEquals(3, _table.getChanges(FaultType.WARNING));
+
+    assertArrayEquals(new String[] {}, _errors.get());
+  }
+}
@@ -0,0 +1,84 @@
+package frc.lib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.MathUtil;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import org.junit.jupiter.api.Test;
+
+public class InputPipelineTest {
+  private double _input = 0;
+
+  private static final double[] _inputs = {-1, -0.73, -0.5, -0.1, -0.05, 0, 0.02, 0.3, 0.999, 1};
+
+  // checks a compiled pipeline against the same operations chained as lambdas
+  private void assertEquivalent(
+      DoubleUnaryOperator operations, InputStream chained, InputPipeline compiled) {
+    for (double input : _inputs) {
+      _input = input;
+
+      assertEquals(chained.get(), compiled.get(), 1e-12, compiled + " at " + input);
+      assertEquals(operations.applyAsDouble(input), compiled.get(), 1e-12);
+    }
+  }
+
+  @Test
+  public void equivalence() {
+    InputStream source = () -> _input;
+
+    assertEquivalent(
+        x -> -Math.copySign(x * x, x) * 4.5,
+        source.negate().signedPow(2).scale(4.5),
+        InputPipeline.of(() -> _input, "x").negate().signedPow(2).scale(4.5));
+
+    assertEquivalent(
+        x -> -MathUtil.applyDeadband(x, 0.1, 1) * 2,
+        source.deadband(0.1, 1).negate().scale(2),
+        InputPipeline.of(() -> _input, "x").deadband(0.1, 1).negate().scale(2));
+
+    assertEquivalent(
+        x -> Math.min(Math.max((x * 3 + 0.5) * -1, -1), 1) * 2 - 1,
+        source.scale(3).add(0.5).negate().clamp(1).scale(2).add(-1),
+        InputPipeline.of(() -> _input, "x").scale(3).add(0.5).negate().clamp(1).scale(2).add(-1));
+
+    assertEquivalent(
+        x -> Math.pow(-x, 3),
+        source.negate().pow(3),
+        InputPipeline.of(() -> _input, "x").negate().pow(3));
+  }
+
+  @Test
+  public void fusion() {
+    var pipeline = InputPipeline.of(() -> _input, "Left Y").negate().signedPow(2).scale(4.5);
+
+    assertEquals(2, pipeline.size());
+    assertEquals("Left Y -> signedPow(2) -> -4.5x", pipeline.toString());
+
+    // scales that cancel out disappear
+    assertEquals(0, InputPipeline.of(() -> _input, "x").scale(2).scale(0.5).size());
+
+    assertEquals(
+        "x -> deadband(0.1, 1) -> -2x + 1",
+        InputPipeline.of(() -> _input, "x").deadband(0.1, 1).negate().scale(2).add(1).toString());
+
+    // negations only move past symmetric operations
+    for (var op :
+        List.of(
+            InputPipeline.of(() -> _input, "x").negate().pow(2),
+            InputPipeline.of(() -> _input, "x").negate().signedPow(1.5))) {
+      assertEquals(2, op.size());
+      assertTrue(op.toString().startsWith("x -> -1x"));
+    }
+  }
+
+  @Test
+  public void uncompiledOperations() {
+    // falls back to wrapping the pipeline
+    InputStream stream = InputPipeline.of(() -> _input, "x").scale(2).map(x -> x + 1);
+
+    _input = 0.25;
+
+    assertEquals(1.5, stream.get());
+  }
+}
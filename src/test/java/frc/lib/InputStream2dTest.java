@@ -0,0 +1,142 @@
+package frc.lib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.util.WPIUtilJNI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InputStream2dTest {
+  private double _x = 0;
+  private double _y = 0;
+
+  private final InputStream2d _stream =
+      InputStream2d.of(() -> _x, () -> _y).deadband(0.1).signedPow(2).scale(-2);
+
+  private final InputStream2d _limited = InputStream2d.of(() -> _x, () -> _y).deadband(0.1);
+
+  private long _time = 0;
+
+  @BeforeEach
+  public void setup() {
+    WPIUtilJNI.enableMockTime();
+    WPIUtilJNI.setMockTime(_time);
+
+    // half a unit / s, so 0.01 per 20 ms loop
+    _limited.rateLimit(0.5);
+  }
+
+  @AfterEach
+  public void close() {
+    WPIUtilJNI.disableMockTime();
+  }
+
+  // steps the mock time by a loop and samples the rate limited stream
+  private void step(double x, double y) {
+    _x = x;
+    _y = y;
+
+    _time += 20_000;
+
+    WPIUtilJNI.setMockTime(_time);
+
+    _limited.sample();
+  }
+
+  private void sample(double x, double y) {
+    _x = x;
+    _y = y;
+
+    _stream.sample();
+  }
+
+  @Test
+  public void radialDeadband() {
+    // each axis is past the deadband, but the magnitude isn't
+    sample(0.06, 0.06);
+
+    assertEquals(0, _stream.getX(), 1e-12);
+    assertEquals(0, _stream.getY(), 1e-12);
+
+    sample(0, 0);
+
+    assertEquals(0, _stream.getMagnitude(), 1e-12);
+  }
+
+  @Test
+  public void diagonals() {
+    sample(0.5, 0.5);
+
+    // shaped by magnitude, so the direction is kept
+    assertEquals(_stream.getX(), _stream.getY(), 1e-12);
+    assertTrue(_stream.getX() < 0);
+
+    double magnitude = (Math.hypot(0.5, 0.5) - 0.1) / 0.9;
+
+    assertEquals(2 * magnitude * magnitude, _stream.getMagnitude(), 1e-12);
+
+    // the corners of a square gate are clamped to full magnitude
+    sample(1, 1);
+
+    assertEquals(2, _stream.getMagnitude(), 1e-12);
+  }
+
+  @Test
+  public void rotation() {
+    var stream = InputStream2d.of(() -> _x, () -> _y).rotate(() -> Math.PI / 2);
+
+    _x = 1;
+    _y = 0;
+
+    stream.sample();
+
+    assertEquals(0, stream.getX(), 1e-12);
+    assertEquals(1, stream.getY(), 1e-12);
+  }
+
+  @Test
+  public void rateLimitRelease() {
+    for (int i = 0; i < 100; i++) step(1, 0);
+
+    assertEquals(1, _limited.getX(), 1e-9);
+
+    // noise under the deadband while the stick springs back shouldn't turn the output
+    step(0, -0.05);
+
+    assertEquals(0.99, _limited.getX(), 1e-9);
+    assertEquals(0, _limited.getY(), 1e-12);
+
+    step(-0.05, 0.05);
+
+    assertEquals(0.98, _limited.getX(), 1e-9);
+    assertEquals(0, _limited.getY(), 1e-12);
+
+    for (int i = 0; i < 100; i++) step(0, 0);
+
+    assertEquals(0, _limited.getMagnitude(), 1e-12);
+  }
+
+  @Test
+  public void rateLimitReversal() {
+    for (int i = 0; i < 100; i++) step(1, 0);
+
+    // reversing the stick ramps down through zero instead of flipping direction in one loop
+    step(-1, 0);
+
+    assertEquals(0.99, _limited.getX(), 1e-9);
+
+    double previous = _limited.getX();
+
+    for (int i = 0; i < 199; i++) {
+      step(-1, 0);
+
+      assertEquals(previous - 0.01, _limited.getX(), 1e-9);
+
+      previous = _limited.getX();
+    }
+
+    assertEquals(-1, _limited.getX(), 1e-9);
+    assertEquals(0, _limited.getY(), 1e-12);
+  }
+}
@@ -0,0 +1,152 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.utils.AlignTrajectoryGenerator;
+import frc.robot.utils.NavGrid;
+import frc.robot.utils.TrajectoryFollower;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class AlignTrajectoryGeneratorTest {
+  private final double _maxSpeed = 3;
+  private final double _maxAcceleration = 10;
+
+  private final AlignTrajectoryGenerator _generator =
+      new AlignTrajectoryGenerator(_maxSpeed, _maxAcceleration, Math.PI * 3, Math.PI * 3, 100, 4);
+
+  @Test
+  public void fromRest() {
+    TrajectoryFollower trajectory =
+        _generator.generate(
+            Pose2d.kZero, new ChassisSpeeds(), new Pose2d(0.5, 0, Rotation2d.kZero));
+
+    // accelerating then decelerating the whole way, without reaching max speed
+    assertEquals(2 * Math.sqrt(0.5 / _maxAcceleration), trajectory.getTotalTime(), 0.01);
+
+    trajectory.sample(trajectory.getTotalTime());
+
+    assertEquals(0.5, trajectory.getX(), 1e-9);
+    assertEquals(0, trajectory.getY(), 1e-9);
+    assertEquals(0, trajectory.getVx(), 1e-9);
+  }
+
+  @Test
+  public void carriesSpeed() {
+    var startSpeeds = new ChassisSpeeds(2, 1, 0);
+    var goal = new Pose2d(1.5, 0.3, Rotation2d.fromRadians(1));
+
+    TrajectoryFollower trajectory = _generator.generate(Pose2d.kZero, startSpeeds, goal);
+
+    trajectory.sample(0);
+
+    assertEquals(startSpeeds.vxMetersPerSecond, trajectory.getVx(), 1e-9);
+    assertEquals(startSpeeds.vyMetersPerSecond, trajectory.getVy(), 1e-9);
+
+    for (double t = 0; t <= trajectory.getTotalTime(); t += 0.01) {
+      trajectory.sample(t);
+
+      assertTrue(Math.hypot(trajectory.getVx(), trajectory.getVy()) <= _maxSpeed + 1e-9);
+    }
+
+    trajectory.sample(trajectory.getTotalTime());
+
+    assertEquals(goal.getX(), trajectory.getX(), 1e-9);
+    assertEquals(goal.getY(), trajectory.getY(), 1e-9);
+    assertEquals(goal.getRotation().getRadians(), trajectory.getHeading(), 1e-6);
+  }
+
+  @Test
+  public void turnInPlace() {
+    var goal = new Pose2d(0, 0, Rotation2d.fromRadians(2));
+
+    TrajectoryFollower trajectory = _generator.generate(Pose2d.kZero, new ChassisSpeeds(), goal);
+
+    assertTrue(trajectory.getTotalTime() > 0);
+
+    trajectory.sample(trajectory.getTotalTime());
+
+    assertEquals(2, trajectory.getHeading(), 1e-6);
+  }
+
+  @Test
+  public void throughWaypoints() {
+    var waypoints = List.of(new Translation2d(2, 0), new Translation2d(2, 2));
+    var goal = new Pose2d(4, 2, Rotation2d.kZero);
+
+    TrajectoryFollower trajectory =
+        _generator.generate(Pose2d.kZero, new ChassisSpeeds(), waypoints, goal);
+
+    double[] closest = {Double.MAX_VALUE, Double.MAX_VALUE};
+
+    for (double t = 0; t <= trajectory.getTotalTime(); t += 0.01) {
+      trajectory.sample(t);
+
+      for (int i = 0; i < closest.length; i++) {
+        closest[i] =
+            Math.min(
+                closest[i],
+                Math.hypot(
+                    trajectory.getX() - waypoints.get(i).getX(),
+                    trajectory.getY() - waypoints.get(i).getY()));
+      }
+
+      // speed is carried through the corners instead of stopping at them
+      if (t > 0.5 && t < trajectory.getTotalTime() - 0.5) {
+        assertTrue(Math.hypot(trajectory.getVx(), trajectory.getVy()) > 1);
+      }
+    }
+
+    assertEquals(0, closest[0], 0.05);
+    assertEquals(0, closest[1], 0.05);
+
+    trajectory.sample(trajectory.getTotalTime());
+
+    assertEquals(goal.getX(), trajectory.getX(), 1e-9);
+    assertEquals(goal.getY(), trajectory.getY(), 1e-9);
+  }
+
+  @Test
+  public void aroundObstacles() {
+    // a square obstacle just past the straight line to the goal
+    var navGrid =
+        new NavGrid(
+            10,
+            10,
+            0.1,
+            0.3,
+            List.<Translation2d[]>of(
+                new Translation2d[] {
+                  new Translation2d(4, 4),
+                  new Translation2d(6, 4),
+                  new Translation2d(6, 6),
+                  new Translation2d(4, 6)
+                }));
+
+    var start = new Pose2d(2, 3.5, Rotation2d.kZero);
+    var goal = new Pose2d(8, 3.5, Rotation2d.kZero);
+
+    assertTrue(navGrid.isClear(start.getTranslation(), goal.getTranslation()));
+
+    // moving away from the goal and towards the obstacle, so the spline swings into it
+    var startSpeeds = new ChassisSpeeds(-2, 2, 0);
+
+    assertNotEquals(
+        -1, navGrid.findBlocked(_generator.generate(start, startSpeeds, goal).getPoses()));
+
+    TrajectoryFollower trajectory =
+        _generator.generate(start, startSpeeds, List.of(), goal, navGrid);
+
+    assertNotNull(trajectory);
+    assertEquals(-1, navGrid.findBlocked(trajectory.getPoses()));
+
+    trajectory.sample(trajectory.getTotalTime());
+
+    assertEquals(goal.getX(), trajectory.getX(), 1e-9);
+    assertEquals(goal.getY(), trajectory.getY(), 1e-9);
+  }
+}
@@ -0,0 +1,269 @@
+package frc.robot;
+
+import static edu.wpi.first.units.Units.*;
+import static frc.lib.UnitTestingUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.units.measure.Time;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.subsystems.Swerve;
+import frc.robot.utils.TrackingErrorStats;
+import frc.robot.utils.TrajectoryFollower;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Runs every auto routine registered in the robot's auto chooser in simulation, under virtual time,
+ * and reports how long it took, how well trajectories were tracked and how long the drive waited
+ * between trajectories. Run with {@code ./gradlew autoEval}, reports are written to build/autoEval.
+ *
+ * <p>The simulation is global to a JVM, so routines are split between shards, which are separate
+ * test classes that gradle runs in parallel forks.
+ */
+@Tag("autoEval")
+public abstract class AutoEvalTest {
+  // the length of auto, routines that take longer fail
+  private static final Time _timeout = Seconds.of(15);
+
+  // how many shards the routines are split between, matching the shard classes below
+  private static final int _shards = 4;
+
+  static final Path outputDir = Path.of(System.getProperty("autoEval.outputDir", "build/autoEval"));
+
+  public static class Shard0Test extends AutoEvalTest {
+    public Shard0Test() {
+      super(0);
+    }
+  }
+
+  public static class Shard1Test extends AutoEvalTest {
+    public Shard1Test() {
+      super(1);
+    }
+  }
+
+  public static class Shard2Test extends AutoEvalTest {
+    public Shard2Test() {
+      super(2);
+    }
+  }
+
+  public static class Shard3Test extends AutoEvalTest {
+    public Shard3Test() {
+      super(3);
+    }
+  }
+
+  private final int _shard;
+
+  protected AutoEvalTest(int shard) {
+    _shard = shard;
+  }
+
+  /** A trajectory in a routine, and the wait before it. */
+  static class Step {
+    public final String trajectory;
+    public final double waitTime;
+
+    public double driveTime = 0;
+
+    public double translationRms = 0;
+    public double translationMax = 0;
+    public double headingRms = 0;
+    public double headingMax = 0;
+    public double lag = 0;
+
+    public Step(String trajectory, double waitTime) {
+      this.trajectory = trajectory;
+      this.waitTime = waitTime;
+    }
+  }
+
+  /** The result of running a routine. */
+  record Result(
+      String name, boolean finished, double completionTime, double endWaitTime, List<Step> steps) {
+    /** The RMS translation error over all steps, weighted by their drive time. */
+    public double translationRms() {
+      double squaredSum = 0;
+      double time = 0;
+
+      for (Step step : steps) {
+        squaredSum += step.translationRms * step.translationRms * step.driveTime;
+        time += step.driveTime;
+      }
+
+      return time == 0 ? 0 : Math.sqrt(squaredSum / time);
+    }
+
+    /** The time spent following trajectories. */
+    public double driveTime() {
+      double time = 0;
+
+      for (Step step : steps) {
+        time += step.driveTime;
+      }
+
+      return time;
+    }
+  }
+
+  /** The names of all routines registered in the robot's auto chooser, sorted. */
+  static List<String> routineNames() {
+    setupTests();
+
+    Robot robot = new Robot(getNtInst());
+
+    List<String> names = new ArrayList<>(robot.getAutoChooser().getRoutineNames());
+
+    reset(robot);
+
+    names.sort(null);
+
+    return names;
+  }
+
+  /**
+   * Runs a routine on a new robot in simulation.
+   *
+   * @param name The name of the routine.
+   * @param configure Configures the robot before the routine is run.
+   * @return The result.
+   */
+  static Result run(String name, Consumer<Robot> configure) {
+    setupTests();
+
+    Robot robot = new Robot(getNtInst());
+
+    try {
+      configure.accept(robot);
+
+      DriverStationSim.setAutonomous(true);
+      DriverStationSim.notifyNewData();
+
+      Swerve swerve = robot.getSwerve();
+
+      Command routine = robot.getAutoChooser().buildRoutine(name);
+
+      List<Step> steps = new ArrayList<>();
+
+      TrajectoryFollower lastTrajectory = null;
+
+      double tickTime = TICK_RATE.in(Seconds);
+      double time = 0;
+      double waitTime = 0;
+
+      routine.schedule();
+
+      while (routine.isScheduled() && time < _timeout.in(Seconds)) {
+        fastForward(1);
+
+        time += tickTime;
+
+        TrajectoryFollower trajectory = swerve.getActiveTrajectory();
+
+        if (trajectory == null) {
+          waitTime += tickTime;
+          lastTrajectory = null;
+
+          continue;
+        }
+
+        if (trajectory != lastTrajectory) {
+          steps.add(new Step(trajectory.getName(), waitTime));
+
+          waitTime = 0;
+          lastTrajectory = trajectory;
+        }
+
+        Step step = steps.get(steps.size() - 1);
+
+        TrackingErrorStats stats = swerve.getTrajectoryStats();
+
+        step.driveTime += tickTime;
+
+        step.translationRms = stats.getTranslationRms();
+        step.translationMax = stats.getTranslationMax();
+        step.headingRms = stats.getHeadingRms();
+        step.headingMax = stats.getHeadingMax();
+        step.lag = stats.getLag();
+      }
+
+      return new Result(name, !routine.isScheduled(), time, waitTime, steps);
+    } finally {
+      DriverStationSim.setAutonomous(false);
+      DriverStationSim.notifyNewData();
+
+      reset(robot);
+    }
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> evaluateRoutines() {
+    List<String> names = routineNames();
+
+    return IntStream.range(0, names.size())
+        .filter(i -> i % _shards == _shard)
+        .mapToObj(names::get)
+        .map(
+            name ->
+                DynamicTest.dynamicTest(
+                    name,
+                    () -> {
+                      Result result = run(name, robot -> {});
+
+                      writeReport(result);
+
+                      assertTrue(result.finished(), name + " didn't finish within " + _timeout);
+                    }));
+  }
+
+  // writes a json report for the routine, one file per routine
+  private void writeReport(Result result) throws IOException {
+    StringBuilder json = new StringBuilder();
+
+    json.append("{\n");
+    json.append("  \"routine\": \"").append(result.name()).append("\",\n");
+    json.append("  \"finished\": ").append(result.finished()).append(",\n");
+    json.append("  \"completionTime\": ").append(format(result.completionTime())).append(",\n");
+    json.append("  \"endWaitTime\": ").append(format(result.endWaitTime())).append(",\n");
+    json.append("  \"steps\": [");
+
+    for (int i = 0; i < result.steps().size(); i++) {
+      Step step = result.steps().get(i);
+
+      json.append(i == 0 ? "\n" : ",\n");
+      json.append("    {\"trajectory\": \"").append(step.trajectory).append("\", ");
+      json.append("\"waitTime\": ").append(format(step.waitTime)).append(", ");
+      json.append("\"driveTime\": ").append(format(step.driveTime)).append(", ");
+      json.append("\"translationRms\": ").append(format(step.translationRms)).append(", ");
+      json.append("\"translationMax\": ").append(format(step.translationMax)).append(", ");
+      json.append("\"headingRms\": ").append(format(step.headingRms)).append(", ");
+      json.append("\"headingMax\": ").append(format(step.headingMax)).append(", ");
+      json.append("\"lag\": ").append(format(step.lag)).append("}");
+    }
+
+    json.append(result.steps().isEmpty() ? "]\n" : "\n  ]\n");
+    json.append("}\n");
+
+    Files.createDirectories(outputDir);
+    Files.writeString(
+        outputDir.resolve(result.name().replaceAll("[^A-Za-z0-9]+", "_") + ".json"), json);
+
+    System.out.println("[autoEval] " + json.toString().replaceAll("\\s+", " "));
+  }
+
+  static String format(double value) {
+    return String.format(Locale.ROOT, "%.4f", value);
+  }
+}
@@ -0,0 +1,98 @@
+package frc.robot;
+
+import static frc.robot.AutoEvalTest.*;
+
+import frc.robot.AutoEvalTest.Result;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Sweeps the trajectory following gains over every auto routine in simulation, writing the tracking
+ * error of each pair of gains to build/autoEval/gainSweep.csv. The best pair has the lowest RMS
+ * over all routines together, weighted by drive time, and has to finish every routine. Run with
+ * {@code ./gradlew autoEval -PgainSweep}.
+ */
+@Tag("autoEval")
+@EnabledIfSystemProperty(named = "autoEval.gainSweep", matches = "true")
+public class AutoGainSweepTest {
+  private static final double[] _translationGains = {0, 2.5, 5, 7.5, 10, 15};
+  private static final double[] _headingGains = {0, 2.5, 5, 7.5, 10, 15};
+
+  @Test
+  public void sweep() throws IOException {
+    StringBuilder csv = new StringBuilder("translationkP,headingkP,routine,translationRms,lag\n");
+
+    List<String> names = routineNames();
+
+    double bestError = Double.MAX_VALUE;
+    String best = "none, every pair of gains left a routine unfinished";
+
+    for (double translationkP : _translationGains) {
+      for (double headingkP : _headingGains) {
+        // the RMS over every routine, weighted by how long each drove for
+        double squaredSum = 0;
+        double time = 0;
+
+        boolean finished = true;
+
+        for (String name : names) {
+          Result result =
+              run(name, robot -> robot.getSwerve().setTrajectoryGains(translationkP, headingkP));
+
+          double lag = 0;
+
+          for (var step : result.steps()) {
+            lag = Math.max(lag, step.lag);
+          }
+
+          csv.append(format(translationkP))
+              .append(',')
+              .append(format(headingkP))
+              .append(',')
+              .append(name)
+              .append(',')
+              .append(format(result.translationRms()))
+              .append(',')
+              .append(format(lag))
+              .append('\n');
+
+          squaredSum += result.translationRms() * result.translationRms() * result.driveTime();
+          time += result.driveTime();
+
+          finished &= result.finished();
+        }
+
+        double error = time == 0 ? 0 : Math.sqrt(squaredSum / time);
+
+        csv.append(format(translationkP))
+            .append(',')
+            .append(format(headingkP))
+            .append(",all,")
+            .append(format(error))
+            .append(",\n");
+
+        // gains that leave a routine unfinished can't be the best, however well the rest tracked
+        if (finished && error < bestError) {
+          bestError = error;
+          best =
+              "translation kP "
+                  + translationkP
+                  + ", heading kP "
+                  + headingkP
+                  + " (RMS "
+                  + format(error)
+                  + " m)";
+        }
+      }
+    }
+
+    Files.createDirectories(outputDir);
+    Files.writeString(outputDir.resolve("gainSweep.csv"), csv);
+
+    System.out.println("[autoEval] best gains over all routines: " + best);
+  }
+}
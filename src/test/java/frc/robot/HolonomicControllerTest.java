@@ -0,0 +1,193 @@
+package frc.robot;
+
+import static edu.wpi.first.units.Units.*;
+import static frc.lib.UnitTestingUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.Vector;
+import edu.wpi.first.math.controller.ProfiledPIDController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.numbers.N2;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
+import frc.robot.Constants.SwerveConstants;
+import frc.robot.utils.HolonomicController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HolonomicControllerTest {
+  private HolonomicController _controller;
+
+  @BeforeEach
+  public void setup() {
+    setupTests();
+
+    _controller = new HolonomicController();
+    _controller.setLoggingEnabled(false);
+  }
+
+  @AfterEach
+  public void close() {
+    reset();
+  }
+
+  @Test
+  public void profiledEquivalence() {
+    // the previous vector-based implementation, kept here as a reference
+    var translationProfiled =
+        new ProfiledPIDController(
+            0,
+            0,
+            0,
+            new Constraints(
+                SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond),
+                SwerveConstants.maxTranslationalAcceleration.in(MetersPerSecondPerSecond)));
+
+    var headingProfiled =
+        new ProfiledPIDController(
+            0,
+            0,
+            0,
+            new Constraints(
+                SwerveConstants.maxAngularSpeed.in(RadiansPerSecond),
+                SwerveConstants.maxAngularAcceleration.in(RadiansPerSecondPerSecond)));
+
+    headingProfiled.enableContinuousInput(-Math.PI, Math.PI);
+
+    var goal = new Pose2d(3, 1.5, Rotation2d.fromDegrees(120));
+    var pose = new Pose2d(0.2, 0.4, Rotation2d.fromDegrees(-30));
+    var speeds = new ChassisSpeeds(0.5, -0.2, 0.1);
+
+    _controller.reset(pose, goal, speeds);
+
+    Vector<N2> difference = VecBuilder.fill(pose.getX() - goal.getX(), pose.getY() - goal.getY());
+
+    translationProfiled.reset(
+        difference.norm(),
+        difference.dot(VecBuilder.fill(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond))
+            / difference.norm());
+    headingProfiled.reset(pose.getRotation().getRadians(), speeds.omegaRadiansPerSecond);
+
+    var output = new ChassisSpeeds();
+
+    for (int i = 0; i < 100; i++) {
+      difference = VecBuilder.fill(pose.getX() - goal.getX(), pose.getY() - goal.getY());
+
+      double velMag = translationProfiled.calculate(difference.norm(), 0);
+
+      Vector<N2> vel = difference.unit().times(translationProfiled.getSetpoint().velocity);
+      Vector<N2> pidVel = difference.unit().times(velMag);
+
+      double pidOmega =
+          headingProfiled.calculate(
+              pose.getRotation().getRadians(), goal.getRotation().getRadians());
+
+      var expected =
+          new ChassisSpeeds(
+              vel.get(0) + pidVel.get(0),
+              vel.get(1) + pidVel.get(1),
+              headingProfiled.getSetpoint().velocity + pidOmega);
+
+      assertSame(output, _controller.calculate(pose, goal, output));
+
+      assertEquals(expected.vxMetersPerSecond, output.vxMetersPerSecond, 1e-9);
+      assertEquals(expected.vyMetersPerSecond, output.vyMetersPerSecond, 1e-9);
+      assertEquals(expected.omegaRadiansPerSecond, output.omegaRadiansPerSecond, 1e-9);
+
+      // move the robot along the commanded speeds, slightly off to exercise the direction
+      pose =
+          new Pose2d(
+              pose.getX() + (output.vxMetersPerSecond + 0.05) * 0.02,
+              pose.getY() + output.vyMetersPerSecond * 0.02,
+              pose.getRotation().plus(Rotation2d.fromRadians(output.omegaRadiansPerSecond * 0.02)));
+    }
+  }
+
+  @Test
+  public void inPlaceCorrection() {
+    var desired = new Pose2d(1, 1, Rotation2d.fromDegrees(45));
+    var current = new Pose2d(0.9, 1.05, Rotation2d.fromDegrees(40));
+
+    var expected = _controller.calculate(new ChassisSpeeds(1, 2, 0.5), desired, current);
+
+    // the output is allowed to be the same object as the reference speeds
+    var speeds = new ChassisSpeeds(1, 2, 0.5);
+
+    _controller.calculate(speeds, desired, current, speeds);
+
+    assertEquals(expected.vxMetersPerSecond, speeds.vxMetersPerSecond, 1e-9);
+    assertEquals(expected.vyMetersPerSecond, speeds.vyMetersPerSecond, 1e-9);
+    assertEquals(expected.omegaRadiansPerSecond, speeds.omegaRadiansPerSecond, 1e-9);
+  }
+
+  @Test
+  public void correctsTowardsDesiredPose() {
+    _controller.setTrajectoryGains(5, 5);
+
+    var desired = new Pose2d(2, 3, Rotation2d.fromDegrees(30));
+    var current = new Pose2d(1, 1, Rotation2d.kZero);
+
+    var speeds = _controller.calculate(new ChassisSpeeds(), desired, current);
+
+    double dx = desired.getX() - current.getX();
+    double dy = desired.getY() - current.getY();
+
+    // the correction points along the error, scaled by the gain
+    assertEquals(5 * dx, speeds.vxMetersPerSecond, 1e-9);
+    assertEquals(5 * dy, speeds.vyMetersPerSecond, 1e-9);
+    assertTrue(speeds.omegaRadiansPerSecond > 0);
+
+    // driving along the correction closes the error
+    var corrected =
+        new Pose2d(
+            current.getX() + speeds.vxMetersPerSecond * 0.02,
+            current.getY() + speeds.vyMetersPerSecond * 0.02,
+            current.getRotation());
+
+    assertTrue(
+        corrected.getTranslation().getDistance(desired.getTranslation())
+            < current.getTranslation().getDistance(desired.getTranslation()));
+  }
+
+  @Test
+  public void atGoal() {
+    var goal = new Pose2d(1, 1, Rotation2d.kZero);
+
+    _controller.reset(goal, goal, new ChassisSpeeds());
+
+    var output = _controller.calculate(goal, goal, new ChassisSpeeds());
+
+    assertEquals(0, output.vxMetersPerSecond);
+    assertEquals(0, output.vyMetersPerSecond);
+    assertEquals(0, output.omegaRadiansPerSecond);
+  }
+
+  @Test
+  public void timeToGoal() {
+    var goal = new Pose2d(1, 1, Rotation2d.kZero);
+    var current = new Pose2d(3, 1, Rotation2d.kZero);
+
+    var profile =
+        new TrapezoidProfile(
+            new Constraints(
+                SwerveConstants.maxTranslationalSpeed.in(MetersPerSecond),
+                SwerveConstants.maxTranslationalAcceleration.in(MetersPerSecondPerSecond)));
+
+    profile.calculate(0, new State(2, 0), new State());
+
+    double fromRest = _controller.timeToGoal(current, goal, new ChassisSpeeds());
+
+    assertEquals(profile.totalTime(), fromRest, 1e-9);
+
+    // already driving towards the goal gets there sooner, driving away takes longer
+    assertTrue(_controller.timeToGoal(current, goal, new ChassisSpeeds(-1, 0, 0)) < fromRest);
+    assertTrue(_controller.timeToGoal(current, goal, new ChassisSpeeds(1, 0, 0)) > fromRest);
+
+    assertEquals(0, _controller.timeToGoal(goal, goal, new ChassisSpeeds()));
+  }
+}
@@ -0,0 +1,63 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.utils.NavGrid;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NavGridTest {
+  private NavGrid _navGrid;
+
+  @BeforeEach
+  public void setup() {
+    // a single square obstacle in the middle of a 10x10 field
+    _navGrid =
+        new NavGrid(
+            10,
+            10,
+            0.1,
+            0.3,
+            List.<Translation2d[]>of(
+                new Translation2d[] {
+                  new Translation2d(4, 4),
+                  new Translation2d(6, 4),
+                  new Translation2d(6, 6),
+                  new Translation2d(4, 6)
+                }));
+  }
+
+  @Test
+  public void directPath() {
+    var goal = new Translation2d(9, 1);
+
+    var path = _navGrid.findPath(new Translation2d(1, 1), goal);
+
+    assertEquals(1, path.size());
+    assertEquals(goal, path.get(0));
+  }
+
+  @Test
+  public void aroundObstacle() {
+    var start = new Translation2d(2, 5);
+    var goal = new Translation2d(8, 5);
+
+    assertTrue(_navGrid.isBlocked(5, 5));
+    assertFalse(_navGrid.isClear(start, goal));
+
+    var path = _navGrid.findPath(start, goal);
+
+    assertTrue(path.size() > 1);
+    assertEquals(goal, path.get(path.size() - 1));
+
+    var previous = start;
+
+    for (var waypoint : path) {
+      assertTrue(_navGrid.isClear(previous, waypoint));
+
+      previous = waypoint;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import frc.robot.utils.SCurveProfile;
+import org.junit.jupiter.api.Test;
+
+public class SCurveProfileTest {
+  @Test
+  public void trapezoid() {
+    // infinite jerk is a trapezoid profile
+    assertEquals(2 * Math.sqrt(1.0 / 4), SCurveProfile.time(1, 10, 4, Double.POSITIVE_INFINITY));
+    assertEquals(10.0 / 2 + 2.0 / 1, SCurveProfile.time(-10, 2, 1, Double.POSITIVE_INFINITY));
+  }
+
+  @Test
+  public void jerkLimited() {
+    // reaches max acceleration at 0.5 s and max velocity at 2.5 s, covering 2.5 m each way
+    assertEquals(5 + 5.0 / 2, SCurveProfile.time(10, 2, 1, 2), 1e-9);
+
+    // only ever ramps jerk up and down
+    double peakVelocity = 0.01;
+    double distance = peakVelocity * 2 * Math.sqrt(peakVelocity / 2);
+
+    assertEquals(4 * Math.sqrt(peakVelocity / 2), SCurveProfile.time(distance, 2, 1, 2), 1e-9);
+
+    assertEquals(0, SCurveProfile.time(0, 2, 1, 2));
+  }
+
+  @Test
+  public void timeScaling() {
+    double scale = 1.7;
+
+    for (double distance : new double[] {0.001, 0.3, 2, 30}) {
+      double time = SCurveProfile.time(distance, 14, 15, 150);
+
+      assertEquals(
+          scale * time,
+          SCurveProfile.time(
+              distance, 14 / scale, 15 / Math.pow(scale, 2), 150 / Math.pow(scale, 3)),
+          1e-9);
+
+      assertEquals(scale, SCurveProfile.scale(time, scale * time), 1e-9);
+    }
+
+    // an axis that doesn't move isn't scaled into degenerate constraints
+    assertEquals(1, SCurveProfile.scale(0, 2));
+  }
+}
@@ -0,0 +1,101 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.utils.SlipDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SlipDetectorTest {
+  private final Translation2d[] _moduleLocations = {
+    new Translation2d(0.3, 0.3),
+    new Translation2d(0.3, -0.3),
+    new Translation2d(-0.3, 0.3),
+    new Translation2d(-0.3, -0.3)
+  };
+
+  private final double[] _lowCurrents = {10, 10, 10, 10};
+
+  private SlipDetector _detector;
+
+  @BeforeEach
+  public void setup() {
+    _detector = new SlipDetector(_moduleLocations, 0.3, 60, 0.2, 0.15, 1.5);
+  }
+
+  @Test
+  public void rigidMotion() {
+    var states =
+        new SwerveDriveKinematics(_moduleLocations)
+            .toSwerveModuleStates(new ChassisSpeeds(2, -1, 3));
+
+    _detector.update(states, _lowCurrents, 0, 0, 1);
+
+    assertEquals(0, _detector.getResidual(), 1e-9);
+    assertEquals(Double.NEGATIVE_INFINITY, _detector.getLastSlipTime());
+    assertEquals(Double.NEGATIVE_INFINITY, _detector.getLastCollisionTime());
+  }
+
+  @Test
+  public void slippingModule() {
+    SwerveModuleState[] states =
+        new SwerveDriveKinematics(_moduleLocations)
+            .toSwerveModuleStates(new ChassisSpeeds(2, 0, 0));
+
+    // one wheel spinning much faster than the rest
+    states[0].speedMetersPerSecond = 4;
+
+    _detector.update(states, _lowCurrents, 0, 0, 1);
+
+    assertTrue(_detector.getResidual() > 0.3);
+    assertEquals(1, _detector.getLastSlipTime());
+  }
+
+  @Test
+  public void pushing() {
+    var states =
+        new SwerveDriveKinematics(_moduleLocations).toSwerveModuleStates(new ChassisSpeeds());
+
+    double[] highCurrents = {80, 80, 80, 80};
+
+    _detector.update(states, highCurrents, 0, 0, 2);
+
+    // pushing has to last, or it could just be a launch
+    assertEquals(Double.NEGATIVE_INFINITY, _detector.getLastSlipTime());
+
+    _detector.update(states, highCurrents, 0, 0, 2.2);
+
+    assertEquals(2.2, _detector.getLastSlipTime());
+  }
+
+  @Test
+  public void launch() {
+    var kinematics = new SwerveDriveKinematics(_moduleLocations);
+
+    double[] highCurrents = {80, 80, 80, 80};
+
+    // a hard launch from rest draws a lot of current until the modules get up to speed
+    _detector.update(kinematics.toSwerveModuleStates(new ChassisSpeeds()), highCurrents, 0, 0, 1);
+    _detector.update(
+        kinematics.toSwerveModuleStates(new ChassisSpeeds(0.1, 0, 0)), highCurrents, 0, 0, 1.02);
+    _detector.update(
+        kinematics.toSwerveModuleStates(new ChassisSpeeds(0.4, 0, 0)), highCurrents, 0, 0, 1.04);
+
+    assertEquals(Double.NEGATIVE_INFINITY, _detector.getLastSlipTime());
+  }
+
+  @Test
+  public void collision() {
+    var states =
+        new SwerveDriveKinematics(_moduleLocations)
+            .toSwerveModuleStates(new ChassisSpeeds(1, 0, 0));
+
+    _detector.update(states, _lowCurrents, -2, 0.5, 3);
+
+    assertEquals(3, _detector.getLastCollisionTime());
+  }
+}
@@ -0,0 +1,76 @@
+package frc.robot;
+
+import static frc.lib.UnitTestingUtil.*;
+import static frc.robot.Constants.WristevatorConstants.Preset.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Constants.FieldConstants;
+import frc.robot.commands.Superstructure;
+import frc.robot.generated.TunerConstants;
+import frc.robot.subsystems.Swerve;
+import frc.robot.subsystems.Wristevator;
+import frc.robot.utils.AlignPoses.AlignSide;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SuperstructureTest {
+  private Swerve _swerve;
+  private Wristevator _wristevator;
+
+  @BeforeEach
+  public void setup() {
+    setupTests();
+
+    _swerve = TunerConstants.createDrivetrain();
+    _wristevator = new Wristevator();
+  }
+
+  @AfterEach
+  public void close() {
+    reset(_swerve, _wristevator);
+  }
+
+  @Test
+  public void newerGoalCancelsPreposition() {
+    // far from the reef, so l4 waits until the robot gets close
+    _swerve.alignTo(FieldConstants.reef, AlignSide.LEFT).schedule();
+
+    fastForward(1);
+
+    assertTrue(_swerve.isAligning());
+
+    Command preposition = Superstructure.prepositionWristevator(_swerve, _wristevator, L4);
+
+    preposition.schedule();
+
+    fastForward(5);
+
+    assertTrue(preposition.isScheduled());
+
+    // the operator changes their mind
+    Command home = _wristevator.setGoal(HOME);
+
+    home.schedule();
+
+    fastForward(1);
+
+    assertFalse(preposition.isScheduled());
+    assertNotEquals(L4, _wristevator.getLatestSetpoint());
+  }
+
+  @Test
+  public void arrivalFollowsTrajectory() {
+    _swerve.alignTo(FieldConstants.reef, AlignSide.LEFT).schedule();
+
+    fastForward(1);
+
+    var trajectory = _swerve.getActiveTrajectory();
+
+    assertNotNull(trajectory);
+
+    // the rest of the trajectory around the reef, not a straight line to the alignment pose
+    assertTrue(_swerve.getAlignTimeToArrival() > trajectory.getTotalTime() - 1);
+  }
+}
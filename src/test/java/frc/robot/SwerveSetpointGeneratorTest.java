@@ -0,0 +1,83 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.utils.SwerveSetpointGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SwerveSetpointGeneratorTest {
+  private static final double _dt = 0.02;
+
+  private static final double _maxVelocity = 4;
+  private static final double _maxAcceleration = 10;
+
+  private SwerveSetpointGenerator _generator;
+
+  @BeforeEach
+  public void setup() {
+    _generator =
+        new SwerveSetpointGenerator(
+            new Translation2d[] {
+              new Translation2d(0.3, 0.3),
+              new Translation2d(0.3, -0.3),
+              new Translation2d(-0.3, 0.3),
+              new Translation2d(-0.3, -0.3)
+            },
+            _maxVelocity,
+            _maxAcceleration,
+            Math.PI * 8);
+
+    _generator.reset(
+        new ChassisSpeeds(),
+        new SwerveModuleState[] {
+          new SwerveModuleState(), new SwerveModuleState(),
+          new SwerveModuleState(), new SwerveModuleState()
+        });
+  }
+
+  @Test
+  public void accelerationLimited() {
+    var output = new ChassisSpeeds();
+    var prevVx = 0.0;
+
+    for (int i = 0; i < 50; i++) {
+      _generator.generate(new ChassisSpeeds(3, 0, 0), _dt, output);
+
+      assertTrue(output.vxMetersPerSecond - prevVx <= _maxAcceleration * _dt + 1e-9);
+
+      prevVx = output.vxMetersPerSecond;
+    }
+
+    assertEquals(3, output.vxMetersPerSecond, 1e-9);
+  }
+
+  @Test
+  public void desaturated() {
+    var output = new ChassisSpeeds();
+
+    for (int i = 0; i < 100; i++) {
+      _generator.generate(new ChassisSpeeds(10, 0, 10), _dt, output);
+    }
+
+    // the fastest module is at the max wheel speed, with the same ratio of translation to rotation
+    assertEquals(
+        _maxVelocity,
+        Math.hypot(
+            output.vxMetersPerSecond + output.omegaRadiansPerSecond * 0.3,
+            output.omegaRadiansPerSecond * 0.3),
+        1e-9);
+    assertEquals(output.vxMetersPerSecond, output.omegaRadiansPerSecond, 1e-9);
+  }
+
+  @Test
+  public void steersBeforeDriving() {
+    // the modules start facing forward, so driving sideways should wait for them to turn
+    var output = _generator.generate(new ChassisSpeeds(0, 2, 0), _dt, new ChassisSpeeds());
+
+    assertEquals(0, output.vyMetersPerSecond, 0.01);
+  }
+}
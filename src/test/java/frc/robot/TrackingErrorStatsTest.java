@@ -0,0 +1,38 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import frc.robot.utils.TrackingErrorStats;
+import org.junit.jupiter.api.Test;
+
+public class TrackingErrorStatsTest {
+  private final TrackingErrorStats _stats = new TrackingErrorStats();
+
+  @Test
+  public void errors() {
+    _stats.add(1, 0, 0, 0, 0, 0, 0, 0.1);
+    _stats.add(0, 0, 0, 0, 0, 0, 0, -0.3);
+
+    assertEquals(Math.sqrt(0.5), _stats.getTranslationRms(), 1e-9);
+    assertEquals(1, _stats.getTranslationMax(), 1e-9);
+    assertEquals(Math.sqrt(0.05), _stats.getHeadingRms(), 1e-9);
+    assertEquals(0.3, _stats.getHeadingMax(), 1e-9);
+
+    _stats.reset();
+
+    assertEquals(0, _stats.getSamples());
+    assertEquals(0, _stats.getTranslationRms());
+  }
+
+  @Test
+  public void lag() {
+    // driving along x at 2 m/s, 0.1 s behind
+    for (int i = 0; i < 10; i++) {
+      double t = i * 0.02;
+
+      _stats.add(2 * t, 0, 0, 2, 0, 2 * (t - 0.1), 0, 0);
+    }
+
+    assertEquals(0.1, _stats.getLag(), 1e-9);
+  }
+}
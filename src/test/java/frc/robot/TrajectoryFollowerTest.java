@@ -0,0 +1,90 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import choreo.trajectory.SwerveSample;
+import choreo.trajectory.Trajectory;
+import edu.wpi.first.math.MathUtil;
+import frc.robot.utils.TrajectoryFollower;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TrajectoryFollowerTest {
+  private TrajectoryFollower _follower;
+
+  @BeforeEach
+  public void setup() {
+    List<SwerveSample> samples = new ArrayList<>();
+
+    // drives along x at 1 m/s, turning through the -pi/pi wrap
+    for (int i = 0; i <= 10; i++) {
+      double t = i * 0.1;
+
+      samples.add(
+          new SwerveSample(
+              t,
+              t,
+              0,
+              MathUtil.angleModulus(Math.PI - 0.5 + t),
+              1,
+              0,
+              1,
+              0,
+              0,
+              0,
+              new double[] {i, i, i, i},
+              new double[] {-i, -i, -i, -i}));
+    }
+
+    _follower =
+        TrajectoryFollower.fromChoreo(new Trajectory<>("test", samples, List.of(), List.of()));
+  }
+
+  @Test
+  public void interpolates() {
+    _follower.sample(0.25);
+
+    assertEquals(0.25, _follower.getX(), 1e-9);
+    assertEquals(0, _follower.getY(), 1e-9);
+    assertEquals(1, _follower.getVx(), 1e-9);
+    assertEquals(1, _follower.getOmega(), 1e-9);
+    assertEquals(2.5, _follower.getModuleForcesX()[0], 1e-9);
+    assertEquals(-2.5, _follower.getModuleForcesY()[3], 1e-9);
+  }
+
+  @Test
+  public void headingWraps() {
+    _follower.sample(0.55);
+
+    // between pi and -pi + 0.1, the short way around instead of through 0
+    assertEquals(1, Math.cos(_follower.getHeading() - (Math.PI + 0.05)), 1e-9);
+  }
+
+  @Test
+  public void clampsToEnds() {
+    _follower.sample(-1);
+
+    assertEquals(0, _follower.getX(), 1e-9);
+
+    _follower.sample(5);
+
+    assertEquals(1, _follower.getX(), 1e-9);
+    assertEquals(1, _follower.getTotalTime(), 1e-9);
+  }
+
+  @Test
+  public void cursorOnlyMovesForward() {
+    _follower.sample(0.75);
+    _follower.sample(0.25);
+
+    // earlier times are treated as the previous time
+    assertEquals(0.7, _follower.getX(), 1e-9);
+
+    _follower.reset();
+    _follower.sample(0.25);
+
+    assertEquals(0.25, _follower.getX(), 1e-9);
+  }
+}
@@ -0,0 +1,313 @@
+package frc.robot;
+
+import static edu.wpi.first.units.Units.*;
+import static frc.lib.UnitTestingUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Constants.WristevatorConstants.Intermediate;
+import frc.robot.Constants.WristevatorConstants.Preset;
+import frc.robot.subsystems.Wristevator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Moves the wristevator between every ordered pair of presets in simulation, under virtual time,
+ * and compares each move against a checked-in baseline. Run with {@code ./gradlew
+ * wristevatorBench}, reports are written to build/wristevatorBench. Every move has to reach its
+ * goal without stalling, and every move has to be in the baseline. The baseline is only written
+ * with {@code -PupdateBaseline}.
+ */
+@Tag("wristevatorBench")
+public class WristevatorBenchmarkTest {
+  // moves that take longer fail
+  private static final double _timeout = 5;
+
+  // how much worse than the baseline a move can be before it's a regression
+  private static final double _timeTolerance = 0.1;
+  private static final double _errorTolerance = 0.01;
+
+  private static final Path _outputDir =
+      Path.of(System.getProperty("wristevatorBench.outputDir", "build/wristevatorBench"));
+
+  private static final Path _baseline =
+      Path.of(
+          System.getProperty(
+              "wristevatorBench.baseline", "src/test/resources/wristevatorBaseline.csv"));
+
+  private static final String _header =
+      "start,end,finished,stalled,time,intermediates,elevatorPeakVelocity,wristPeakVelocity,"
+          + "elevatorError,wristError";
+
+  /** The result of a move, with velocities and errors in radians. */
+  record Result(
+      Preset start,
+      Preset end,
+      boolean finished,
+      boolean stalled,
+      double time,
+      int intermediates,
+      double elevatorPeakVelocity,
+      double wristPeakVelocity,
+      double elevatorError,
+      double wristError) {
+    public String key() {
+      return start + "," + end;
+    }
+
+    public String toCsv() {
+      return String.join(
+          ",",
+          key(),
+          String.valueOf(finished),
+          String.valueOf(stalled),
+          format(time),
+          String.valueOf(intermediates),
+          format(elevatorPeakVelocity),
+          format(wristPeakVelocity),
+          format(elevatorError),
+          format(wristError));
+    }
+
+    public static Result fromCsv(String line) {
+      String[] values = line.split(",");
+
+      return new Result(
+          Preset.valueOf(values[0]),
+          Preset.valueOf(values[1]),
+          Boolean.parseBoolean(values[2]),
+          Boolean.parseBoolean(values[3]),
+          Double.parseDouble(values[4]),
+          Integer.parseInt(values[5]),
+          Double.parseDouble(values[6]),
+          Double.parseDouble(values[7]),
+          Double.parseDouble(values[8]),
+          Double.parseDouble(values[9]));
+    }
+  }
+
+  private Wristevator _wristevator;
+
+  @BeforeEach
+  public void setup() {
+    setupTests();
+
+    _wristevator = new Wristevator();
+  }
+
+  @AfterEach
+  public void close() {
+    reset(_wristevator);
+  }
+
+  @Test
+  public void presetPairs() throws IOException {
+    boolean updateBaseline =
+        Boolean.parseBoolean(System.getProperty("wristevatorBench.updateBaseline", "false"));
+
+    // checked before any moves, so a missing baseline doesn't cost a whole run to find out about
+    assertTrue(
+        updateBaseline || Files.exists(_baseline),
+        "No baseline at "
+            + _baseline
+            + ", generate one with ./gradlew wristevatorBench -PupdateBaseline and commit it");
+
+    List<Result> results = new ArrayList<>();
+
+    for (Preset start : Preset.values()) {
+      for (Preset end : Preset.values()) {
+        if (start == end) continue;
+
+        assertTrue(move(start, start).finished(), "couldn't reach " + start);
+
+        results.add(move(start, end));
+      }
+    }
+
+    writeReports(results);
+
+    List<String> failures = new ArrayList<>();
+
+    for (Result result : results) {
+      if (result.stalled()) {
+        failures.add(result.key() + " stalled");
+      } else if (!result.finished()) {
+        failures.add(result.key() + " didn't finish within " + _timeout + " s");
+      }
+    }
+
+    if (updateBaseline) {
+      // a baseline with failed moves would hide them from every later run
+      assertTrue(failures.isEmpty(), String.join("\n", failures));
+
+      Files.createDirectories(_baseline.getParent());
+      Files.writeString(_baseline, toCsv(results));
+
+      System.out.println("[wristevatorBench] wrote baseline to " + _baseline);
+
+      return;
+    }
+
+    Map<String, Result> baseline = new HashMap<>();
+
+    for (String line : Files.readAllLines(_baseline)) {
+      if (line.isBlank() || line.startsWith("start,")) continue;
+
+      Result result = Result.fromCsv(line);
+
+      baseline.put(result.key(), result);
+    }
+
+    for (Result result : results) {
+      Result previous = baseline.remove(result.key());
+
+      if (previous == null) {
+        failures.add(result.key() + " isn't in the baseline");
+
+        continue;
+      }
+
+      if (!result.finished()) continue;
+
+      // allow a loop of jitter on short moves
+      double maxTime = previous.time() * (1 + _timeTolerance) + TICK_RATE.in(Seconds);
+
+      if (result.time() > maxTime) {
+        failures.add(
+            result.key() + " took " + format(result.time()) + " s, was " + format(previous.time()));
+      }
+
+      if (result.elevatorError() > previous.elevatorError() + _errorTolerance
+          || result.wristError() > previous.wristError() + _errorTolerance) {
+        failures.add(
+            result.key()
+                + " settled "
+                + format(result.elevatorError())
+                + ", "
+                + format(result.wristError())
+                + " rad away, was "
+                + format(previous.elevatorError())
+                + ", "
+                + format(previous.wristError()));
+      }
+    }
+
+    // the baseline is stale if it has moves that weren't run
+    for (String key : baseline.keySet()) {
+      failures.add(key + " is in the baseline but wasn't run");
+    }
+
+    assertTrue(failures.isEmpty(), String.join("\n", failures));
+  }
+
+  // runs set goal to the end preset, assuming the wristevator is already at the start
+  private Result move(Preset start, Preset end) {
+    Command command = _wristevator.setGoal(end);
+
+    double tickTime = TICK_RATE.in(Seconds);
+    double time = 0;
+
+    int intermediates = 0;
+
+    double elevatorPeakVelocity = 0;
+    double wristPeakVelocity = 0;
+
+    var latestSetpoint = _wristevator.getLatestSetpoint();
+
+    command.schedule();
+
+    while (command.isScheduled() && time < _timeout) {
+      fastForward(1);
+
+      time += tickTime;
+
+      if (_wristevator.getLatestSetpoint() != latestSetpoint) {
+        latestSetpoint = _wristevator.getLatestSetpoint();
+
+        if (latestSetpoint instanceof Intermediate) intermediates++;
+      }
+
+      elevatorPeakVelocity =
+          Math.max(elevatorPeakVelocity, Math.abs(_wristevator.getElevatorVelocity()));
+      wristPeakVelocity = Math.max(wristPeakVelocity, Math.abs(_wristevator.getWristVelocity()));
+    }
+
+    boolean stalled = _wristevator.hasStalled();
+
+    // a stalled move also ends the command, but doesn't get to the goal
+    boolean finished =
+        !command.isScheduled() && !stalled && _wristevator.getLatestSetpoint() == end;
+
+    command.cancel();
+
+    return new Result(
+        start,
+        end,
+        finished,
+        stalled,
+        time,
+        intermediates,
+        elevatorPeakVelocity,
+        wristPeakVelocity,
+        Math.abs(end.getHeight().in(Radians) - _wristevator.getHeight()),
+        Math.abs(end.getAngle().in(Radians) - _wristevator.getAngle()));
+  }
+
+  private void writeReports(List<Result> results) throws IOException {
+    StringBuilder json = new StringBuilder("[");
+
+    for (int i = 0; i < results.size(); i++) {
+      Result result = results.get(i);
+
+      json.append(i == 0 ? "\n" : ",\n");
+      json.append("  {\"start\": \"").append(result.start()).append("\", ");
+      json.append("\"end\": \"").append(result.end()).append("\", ");
+      json.append("\"finished\": ").append(result.finished()).append(", ");
+      json.append("\"stalled\": ").append(result.stalled()).append(", ");
+      json.append("\"time\": ").append(format(result.time())).append(", ");
+      json.append("\"intermediates\": ").append(result.intermediates()).append(", ");
+      json.append("\"elevatorPeakVelocity\": ")
+          .append(format(result.elevatorPeakVelocity()))
+          .append(", ");
+      json.append("\"wristPeakVelocity\": ")
+          .append(format(result.wristPeakVelocity()))
+          .append(", ");
+      json.append("\"elevatorError\": ").append(format(result.elevatorError())).append(", ");
+      json.append("\"wristError\": ").append(format(result.wristError())).append("}");
+    }
+
+    json.append(results.isEmpty() ? "]\n" : "\n]\n");
+
+    Files.createDirectories(_outputDir);
+    Files.writeString(_outputDir.resolve("presetPairs.csv"), toCsv(results));
+    Files.writeString(_outputDir.resolve("presetPairs.json"), json);
+
+    for (Result result : results) {
+      System.out.println("[wristevatorBench] " + result.toCsv());
+    }
+  }
+
+  private static String toCsv(List<Result> results) {
+    StringBuilder csv = new StringBuilder(_header).append('\n');
+
+    for (Result result : results) {
+      csv.append(result.toCsv()).append('\n');
+    }
+
+    return csv.toString();
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.4f", value);
+  }
+}
@@ -0,0 +1,62 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.utils.WristevatorObstacles;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class WristevatorObstaclesTest {
+  // a unit square, wound clockwise
+  private final WristevatorObstacles _obstacles =
+      new WristevatorObstacles(
+          List.<Translation2d[]>of(
+              new Translation2d[] {
+                new Translation2d(0, 0),
+                new Translation2d(0, 1),
+                new Translation2d(1, 1),
+                new Translation2d(1, 0)
+              }));
+
+  @Test
+  public void contains() {
+    assertTrue(_obstacles.contains(0.5, 0.5));
+    assertFalse(_obstacles.contains(1.5, 0.5));
+    assertFalse(_obstacles.contains(1, 0.5));
+  }
+
+  @Test
+  public void segments() {
+    // through
+    assertTrue(_obstacles.intersects(-1, 0.5, 2, 0.5));
+    assertTrue(_obstacles.intersects(-1, -1, 2, 2));
+
+    // ends inside
+    assertTrue(_obstacles.intersects(-1, 0.5, 0.5, 0.5));
+
+    // misses, stops short and grazes an edge
+    assertFalse(_obstacles.intersects(-1, 2, 2, 1.5));
+    assertFalse(_obstacles.intersects(-1, 0.5, -0.1, 0.5));
+    assertFalse(_obstacles.intersects(-1, 1, 2, 1));
+
+    // leaving an obstacle is always allowed
+    assertFalse(_obstacles.intersects(0.5, 0.5, 2, 0.5));
+  }
+
+  @Test
+  public void loadProblems() {
+    var obstacles =
+        WristevatorObstacles.fromCsv(
+            List.of(
+                "frame,0,0", "frame,1,0", "frame,1,1", "frame,0,1", "reef,2", "reef,2,high", ""));
+
+    assertEquals(2, obstacles.getLoadProblems().size());
+
+    // the well formed obstacle is still loaded
+    assertTrue(obstacles.contains(0.5, 0.5));
+
+    assertEquals(1, WristevatorObstacles.fromCsv(List.of()).getLoadProblems().size());
+    assertEquals(1, WristevatorObstacles.fromCsv(List.of("frame,0,0")).getLoadProblems().size());
+  }
+}
@@ -0,0 +1,156 @@
+package frc.robot;
+
+import static frc.robot.Constants.WristevatorConstants.Intermediate.*;
+import static frc.robot.Constants.WristevatorConstants.Preset.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import frc.robot.Constants.WristevatorConstants.Setpoint;
+import frc.robot.utils.WristevatorObstacles;
+import frc.robot.utils.WristevatorPlanner;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class WristevatorPlannerTest {
+  @Test
+  public void directWhenAllowed() {
+    var planner =
+        new WristevatorPlanner(
+            List.of(HOME, L1, L2, I1),
+            List.of(),
+            new WristevatorObstacles(List.of()),
+            new Constraints(100, 100),
+            Double.POSITIVE_INFINITY,
+            new Constraints(10, 20),
+            Double.POSITIVE_INFINITY);
+
+    assertEquals(L2, planner.next(HOME, L2));
+    assertEquals(L1, planner.next(L1, L1));
+  }
+
+  @Test
+  public void aroundForbiddenEdges() {
+    var planner =
+        new WristevatorPlanner(
+            List.of(HOME, L1, L4, I1, I2),
+            List.<Pair<Setpoint, Setpoint>>of(
+                Pair.of(HOME, L1), Pair.of(HOME, L4), Pair.of(L1, L4), Pair.of(I1, L4)),
+            new WristevatorObstacles(List.of()),
+            new Constraints(100, 100),
+            Double.POSITIVE_INFINITY,
+            new Constraints(10, 20),
+            Double.POSITIVE_INFINITY);
+
+    assertEquals(I1, planner.next(HOME, L1));
+    assertEquals(I2, planner.next(HOME, L4));
+    assertEquals(L4, planner.next(I2, L4));
+
+    assertEquals(
+        planner.routeTime(HOME, I2) + planner.routeTime(I2, L4), planner.routeTime(HOME, L4), 1e-9);
+  }
+
+  @Test
+  public void aroundObstacles() {
+    // blocks wrist angles above -0.9 at the bottom of the elevator
+    var frame =
+        new Translation2d[] {
+          new Translation2d(0, -0.9),
+          new Translation2d(2.5, -0.9),
+          new Translation2d(2.5, 1.4),
+          new Translation2d(0, 1.4)
+        };
+
+    var planner =
+        new WristevatorPlanner(
+            List.of(HOME, L1, L2, I1),
+            List.of(),
+            new WristevatorObstacles(List.<Translation2d[]>of(frame)),
+            new Constraints(100, 100),
+            Double.POSITIVE_INFINITY,
+            new Constraints(10, 20),
+            Double.POSITIVE_INFINITY);
+
+    assertEquals(I1, planner.next(HOME, L1));
+    assertEquals(L2, planner.next(HOME, L2));
+  }
+
+  @Test
+  public void unknownSetpoints() {
+    var planner =
+        new WristevatorPlanner(
+            List.of(HOME, L1),
+            List.of(),
+            new WristevatorObstacles(List.of()),
+            new Constraints(100, 100),
+            Double.POSITIVE_INFINITY,
+            new Constraints(10, 20),
+            Double.POSITIVE_INFINITY);
+
+    assertEquals(L3, planner.next(HOME, L3));
+    assertEquals(L1, planner.next(INFINITY, L1));
+    assertEquals(Double.POSITIVE_INFINITY, planner.routeTime(HOME, L3));
+  }
+
+  @Test
+  public void deployedConfigurationSpace() {
+    var planner = WristevatorPlanner.fromDeploy(WristevatorObstacles.fromDeploy());
+
+    // l4 is only reachable through i2
+    assertEquals(I2, planner.next(HOME, L4));
+    assertEquals(I2, planner.next(L3, L4));
+    assertEquals(I2, planner.next(L4, L1));
+
+    assertEquals(I1, planner.next(HOME, L1));
+
+    assertTrue(planner.validate().isEmpty());
+  }
+
+  @Test
+  public void validation() {
+    var planner =
+        new WristevatorPlanner(
+            List.of(HOME, L1),
+            List.of(Pair.of(HOME, L1)),
+            new WristevatorObstacles(List.of()),
+            new Constraints(100, 100),
+            Double.POSITIVE_INFINITY,
+            new Constraints(10, 20),
+            Double.POSITIVE_INFINITY);
+
+    assertEquals(2, planner.validate().size());
+  }
+
+  @Test
+  public void configurationSpaceProblems() {
+    var planner =
+        WristevatorPlanner.fromCsv(
+            List.of(
+                "HOME,0,-1.06",
+                "L1,8,-0.233", // doesn't match the preset
+                "L5,40,0", // unknown
+                "L2,high,-0.793", // malformed
+                "HOME,L6",
+                "HOME"),
+            new WristevatorObstacles(List.of()));
+
+    assertEquals(5, planner.validate().size());
+
+    // the vertex is still used, at the preset's position
+    assertEquals(L1, planner.next(HOME, L1));
+  }
+
+  @Test
+  public void failsClosed() {
+    var planner =
+        WristevatorPlanner.fromCsv(
+            List.of(), WristevatorObstacles.fromCsv(List.of("frame,0,-0.9", "frame,2.5")));
+
+    assertFalse(planner.validate().isEmpty());
+
+    // every setpoint is a vertex, and the fallback forbidden edges keep l4 behind i2
+    assertEquals(I2, planner.next(HOME, L4));
+    assertEquals(I1, planner.next(HOME, L1));
+  }
+}
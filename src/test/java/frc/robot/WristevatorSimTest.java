@@ -0,0 +1,97 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import frc.robot.utils.WristevatorSim;
+import org.junit.jupiter.api.Test;
+
+public class WristevatorSimTest {
+  private WristevatorSim createSim() {
+    return new WristevatorSim(
+        DCMotor.getKrakenX60(1),
+        4,
+        0.02,
+        4,
+        1.5,
+        DCMotor.getKrakenX60(1),
+        50,
+        3.5,
+        0.2,
+        -Math.PI / 2,
+        Math.PI / 2,
+        0);
+  }
+
+  // steps the sim like the sim scheduler does
+  private void run(WristevatorSim sim, double seconds) {
+    for (int i = 0; i < Math.round(seconds / 0.001); i++) {
+      sim.update(0.001);
+    }
+  }
+
+  @Test
+  public void gravity() {
+    var sim = createSim();
+
+    sim.setInputVoltages(6, 6, 0);
+    run(sim, 0.2);
+
+    double height = sim.getHeight();
+
+    assertTrue(height > 0);
+
+    // with no voltage, only the motors' back emf slows the fall
+    sim.setInputVoltages(0, 0, 0);
+    run(sim, 0.5);
+
+    assertTrue(sim.getHeight() < height);
+    assertTrue(sim.getElevatorVelocity() < 0);
+    assertTrue(sim.getAngle() < 0);
+
+    // and it comes to rest on the hard stop
+    run(sim, 10);
+
+    assertEquals(0, sim.getHeight());
+    assertEquals(0, sim.getElevatorVelocity());
+  }
+
+  @Test
+  public void payload() {
+    var empty = createSim();
+    var loaded = createSim();
+
+    loaded.setPayloadMass(5);
+
+    empty.setInputVoltages(6, 6, 0);
+    loaded.setInputVoltages(6, 6, 0);
+
+    run(empty, 0.1);
+    run(loaded, 0.1);
+
+    assertTrue(loaded.getHeight() < empty.getHeight());
+    assertTrue(loaded.getAngle() < empty.getAngle());
+  }
+
+  @Test
+  public void coupling() {
+    var resting = createSim();
+    var raising = createSim();
+
+    raising.setInputVoltages(12, 12, 0);
+
+    run(resting, 0.05);
+    run(raising, 0.05);
+
+    // accelerating the carriage up pulls the wrist down harder than gravity alone
+    assertTrue(raising.getAngle() < resting.getAngle());
+
+    // driving only one elevator motor is weaker than driving both
+    var single = createSim();
+
+    single.setInputVoltages(12, 0, 0);
+    run(single, 0.05);
+
+    assertTrue(single.getHeight() < raising.getHeight());
+  }
+}
@@ -1,13 +1,14 @@
-# Takes in a set of verticies and then forms a complete graph with them. Edges that go through obstacle space can be
-# specified in the csv file and are removed from this complete graph. The user then enters two verticies and this program
-# will return the shortest path between those two verticies.
+# Takes in a set of verticies and then forms a complete graph with them. Edges that go through an obstacle in
+# obstacles.csv, or that are specified in the csv file, are removed from this complete graph. The user then enters
+# two verticies and this program will return the shortest path between those two verticies.
 
 import networkx as nx
 import matplotlib.pyplot as plt
 import csv
+import itertools
 import math
 
-with open('wristevator-pathfinder/configuration_space.csv', 'r') as file:
+with open('src/main/deploy/wristevator/configuration_space.csv', 'r') as file:
     reader = csv.reader(file)
     
     verticies = {}
@@ -23,6 +24,46 @@ with open('wristevator-pathfinder/configuration_space.csv', 'r') as file:
         else:
             continue
 
+# obstacles are convex polygons, consecutive lines with the same name are one polygon's verticies
+obstacles = {}
+
+with open('src/main/deploy/wristevator/obstacles.csv', 'r') as file:
+    for line in csv.reader(file):
+        if len(line) == 3:
+            obstacles.setdefault(line[0], []).append((float(line[1]), float(line[2])))
+
+def crosses(start, end, polygon):
+    # clips the segment against every edge of the polygon, touching an edge doesn't count
+    area = sum(a[0] * b[1] - b[0] * a[1] for a, b in zip(polygon, polygon[1:] + polygon[:1]))
+
+    if area < 0:
+        polygon = polygon[::-1]
+
+    enter, exit = 0, 1
+
+    for a, b in zip(polygon, polygon[1:] + polygon[:1]):
+        distance = (b[1] - a[1]) * (start[0] - a[0]) - (b[0] - a[0]) * (start[1] - a[1])
+        rate = (b[1] - a[1]) * (end[0] - start[0]) - (b[0] - a[0]) * (end[1] - start[1])
+
+        if abs(rate) < 1e-12:
+            if distance >= 0:
+                return False
+
+            continue
+
+        t = -distance / rate
+
+        if rate < 0:
+            enter = max(enter, t)
+        else:
+            exit = min(exit, t)
+
+    return exit - enter > 1e-9
+
+for v1, v2 in itertools.combinations(verticies.keys(), 2):
+    if any(crosses(verticies[v1], verticies[v2], polygon) for polygon in obstacles.values()):
+        dangerous_edges.append((v1, v2))
+
 G = nx.complete_graph(verticies.keys())
 
 # remove all dangerous edges from configuration space